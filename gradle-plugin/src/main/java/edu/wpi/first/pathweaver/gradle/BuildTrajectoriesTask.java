@@ -0,0 +1,130 @@
+package edu.wpi.first.pathweaver.gradle;
+
+import java.io.File;
+import java.util.Map;
+
+import groovy.json.JsonException;
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Builds the trajectories of a PathWeaver project by running PathWeaver without a window. The task is up to
+ * date, and skipped by Gradle, as long as no path file, auton file or {@code pathweaver.json} changed and the
+ * output is intact. When it does run, PathWeaver still only rebuilds the paths that changed.
+ */
+public class BuildTrajectoriesTask extends DefaultTask {
+    static final String MAIN_CLASS = "edu.wpi.first.pathweaver.build.HeadlessBuild";
+
+    private final DirectoryProperty projectDirectory = getProject().getObjects().directoryProperty();
+    private final DirectoryProperty outputDirectory = getProject().getObjects().directoryProperty();
+    private final ConfigurableFileCollection pathWeaverClasspath = getProject().files();
+
+    /**
+     * Creates the task. It is skipped in robot projects that do not have a PathWeaver project.
+     */
+    public BuildTrajectoriesTask() {
+        super();
+        onlyIf(task -> getPreferencesFile().get().getAsFile().exists());
+    }
+
+    @Internal
+    public DirectoryProperty getProjectDirectory() {
+        return projectDirectory;
+    }
+
+    /**
+     * Gets the project preferences, whose units, limits and field affect every trajectory.
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public Provider<RegularFile> getPreferencesFile() {
+        return projectDirectory.file("pathweaver.json");
+    }
+
+    /**
+     * Gets the path and auton files of the project.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getSourceFiles() {
+        return getProject().files(projectDirectory.dir("Paths"), projectDirectory.dir("Autos"));
+    }
+
+    /**
+     * Gets the directory trajectories are written to, if it overrides the one set in {@code pathweaver.json}.
+     */
+    @Internal
+    public DirectoryProperty getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Gets the directory trajectories are written to: the one set on the task, or else the project's own.
+     */
+    @OutputDirectory
+    public Provider<File> getResolvedOutputDirectory() {
+        return outputDirectory.map(Directory::getAsFile)
+                .orElse(projectDirectory.map(directory -> projectOutputDirectory(directory.getAsFile())));
+    }
+
+    /**
+     * Finds the output directory of a PathWeaver project the way PathWeaver does: the {@code outputDir} of
+     * {@code pathweaver.json}, relative to the project, or else the directory above the project. Robot
+     * projects export to their deploy directory and anything else to an output subdirectory.
+     */
+    static File projectOutputDirectory(File project) {
+        Object outputDir = null;
+        File preferences = new File(project, "pathweaver.json");
+        if (preferences.isFile()) {
+            try {
+                outputDir = ((Map<?, ?>) new JsonSlurper().parse(preferences)).get("outputDir");
+            } catch (JsonException | ClassCastException e) {
+                // PathWeaver resets unreadable preferences, which have no output directory
+                outputDir = null;
+            }
+        }
+        File base = outputDir == null
+                ? project.getAbsoluteFile().getParentFile()
+                : new File(project, outputDir.toString());
+        if (new File(base, "build.gradle").exists()) {
+            return new File(base, "src/main/deploy/paths");
+        }
+        return new File(base, "output");
+    }
+
+    /**
+     * Gets the classpath of the PathWeaver that builds the trajectories, so a new version rebuilds them.
+     */
+    @Classpath
+    public ConfigurableFileCollection getPathWeaverClasspath() {
+        return pathWeaverClasspath;
+    }
+
+    @TaskAction
+    public void build() {
+        getProject().javaexec(spec -> {
+            spec.setClasspath(pathWeaverClasspath);
+            spec.setMain(MAIN_CLASS);
+            spec.jvmArgs("-Djava.awt.headless=true");
+            spec.args(projectDirectory.get().getAsFile().getAbsolutePath());
+            // Without an output directory PathWeaver uses the project's, like getResolvedOutputDirectory
+            if (outputDirectory.isPresent()) {
+                spec.args(outputDirectory.get().getAsFile().getAbsolutePath());
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package edu.wpi.first.pathweaver.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The {@code pathweaver} block of a robot project's build script.
+ */
+public class PathWeaverExtension {
+    private final DirectoryProperty projectDirectory;
+    private final DirectoryProperty outputDirectory;
+    private final Property<String> version;
+
+    /**
+     * Creates the extension with the directories PathWeaver uses for a robot project.
+     *
+     * @param project the robot project
+     * @param version the PathWeaver version this plugin was published with
+     */
+    public PathWeaverExtension(Project project, String version) {
+        this.projectDirectory = project.getObjects().directoryProperty()
+                .convention(project.getLayout().getProjectDirectory().dir("PathWeaver"));
+        this.outputDirectory = project.getObjects().directoryProperty();
+        this.version = project.getObjects().property(String.class).convention(version);
+    }
+
+    /**
+     * Gets the PathWeaver project directory, the one holding {@code pathweaver.json}. Defaults to the
+     * PathWeaver directory of the robot project.
+     */
+    public DirectoryProperty getProjectDirectory() {
+        return projectDirectory;
+    }
+
+    /**
+     * Gets the directory trajectories are written to. When not set, the output directory of the PathWeaver
+     * project is used, as when building from PathWeaver.
+     */
+    public DirectoryProperty getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Gets the version of PathWeaver that builds the trajectories. Defaults to the version of this plugin.
+     */
+    public Property<String> getVersion() {
+        return version;
+    }
+}
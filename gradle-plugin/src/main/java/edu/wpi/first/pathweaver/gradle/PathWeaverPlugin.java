@@ -0,0 +1,61 @@
+package edu.wpi.first.pathweaver.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import edu.wpi.first.tools.PlatformMapper;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.plugins.BasePlugin;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Builds the trajectories of a robot project's PathWeaver project as part of the robot build, so the
+ * deployed trajectories always match the paths. Applying the plugin adds a {@value #TASK_NAME} task that
+ * {@code assemble} depends on, configured by a {@code pathweaver} block.
+ */
+public class PathWeaverPlugin implements Plugin<Project> {
+    public static final String TASK_NAME = "buildPaths";
+    public static final String EXTENSION_NAME = "pathweaver";
+    public static final String CONFIGURATION_NAME = "pathweaver";
+
+    @Override
+    public void apply(Project project) {
+        PathWeaverExtension extension = project.getExtensions().create(EXTENSION_NAME, PathWeaverExtension.class,
+                project, readVersion());
+
+        Configuration classpath = project.getConfigurations().create(CONFIGURATION_NAME, configuration -> {
+            configuration.setVisible(false);
+            configuration.setDescription("The PathWeaver used to build trajectories.");
+        });
+        classpath.defaultDependencies(dependencies -> dependencies.add(project.getDependencies().create(
+                "edu.wpi.first.tools:PathWeaver:" + extension.getVersion().get() + ":"
+                        // The same platform names the application jars are published under
+                        + new PlatformMapper(project).getCurrentPlatform().getPlatformName())));
+
+        TaskProvider<BuildTrajectoriesTask> buildPaths = project.getTasks().register(TASK_NAME,
+                BuildTrajectoriesTask.class, task -> {
+                    task.setGroup("PathWeaver");
+                    task.setDescription("Builds the trajectories of the PathWeaver project.");
+                    task.getProjectDirectory().set(extension.getProjectDirectory());
+                    task.getOutputDirectory().set(extension.getOutputDirectory());
+                    task.getPathWeaverClasspath().from(classpath);
+                });
+
+        project.getPlugins().withType(BasePlugin.class, plugin -> project.getTasks()
+                .named(BasePlugin.ASSEMBLE_TASK_NAME).configure(assemble -> assemble.dependsOn(buildPaths)));
+    }
+
+    private static String readVersion() {
+        Properties properties = new Properties();
+        try (InputStream stream = PathWeaverPlugin.class.getResourceAsStream("pathweaver-plugin.properties")) {
+            properties.load(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the PathWeaver version", e);
+        }
+        return properties.getProperty("version");
+    }
+}
@@ -0,0 +1,85 @@
+package edu.wpi.first.pathweaver.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathWeaverPluginTest {
+  private static final String TASK = ":" + PathWeaverPlugin.TASK_NAME;
+
+  @Test
+  public void assembleBuildsPathsIntoProjectOutput(@TempDir Path robot) throws IOException {
+    writeRobotProject(robot, "");
+    writePathWeaverProject(robot.resolve("PathWeaver"), null);
+
+    BuildResult first = run(robot, "assemble");
+    assertEquals(TaskOutcome.SUCCESS, first.task(TASK).getOutcome(), "assemble should build the paths");
+    assertTrue(Files.exists(robot.resolve("src/main/deploy/paths/one.wpilib.json")),
+        "Trajectory should be written to the output directory of pathweaver.json");
+
+    BuildResult second = run(robot, "assemble");
+    assertEquals(TaskOutcome.UP_TO_DATE, second.task(TASK).getOutcome(), "Unchanged paths should not rebuild");
+  }
+
+  @Test
+  public void outputDirectoryOverridesProjectOutput(@TempDir Path robot) throws IOException {
+    writeRobotProject(robot, "pathweaver {\n    outputDirectory = file('trajectories')\n}\n");
+    writePathWeaverProject(robot.resolve("PathWeaver"), "elsewhere");
+
+    run(robot, PathWeaverPlugin.TASK_NAME);
+    assertTrue(Files.exists(robot.resolve("trajectories/one.wpilib.json")),
+        "Trajectory should be written to the directory set in the build script");
+  }
+
+  @Test
+  public void skippedWithoutPathWeaverProject(@TempDir Path robot) throws IOException {
+    writeRobotProject(robot, "");
+
+    BuildResult result = run(robot, "assemble");
+    assertEquals(TaskOutcome.SKIPPED, result.task(TASK).getOutcome(),
+        "Robot projects without pathweaver.json should skip the task");
+  }
+
+  private static BuildResult run(Path robot, String task) {
+    return GradleRunner.create()
+        .withProjectDir(robot.toFile())
+        .withPluginClasspath()
+        .withArguments(task, "-PpathweaverClasspath=" + System.getProperty("pathweaver.classpath"))
+        .build();
+  }
+
+  private static void writeRobotProject(Path robot, String configuration) throws IOException {
+    Files.writeString(robot.resolve("settings.gradle"), "rootProject.name = 'robot'\n");
+    Files.writeString(robot.resolve("build.gradle"), "plugins {\n"
+        + "    id 'base'\n"
+        + "    id 'edu.wpi.first.PathWeaver'\n"
+        + "}\n"
+        + "\n"
+        + "dependencies {\n"
+        + "    pathweaver files(pathweaverClasspath.split(File.pathSeparator))\n"
+        + "}\n"
+        + "\n"
+        + configuration);
+  }
+
+  private static void writePathWeaverProject(Path project, String outputDir) throws IOException {
+    Files.createDirectories(project.resolve("Paths"));
+    Files.writeString(project.resolve("pathweaver.json"), "{\"lengthUnit\": \"FOOT\", "
+        + "\"exportUnit\": \"Always Meters\", \"maxVelocity\": 10.0, \"maxAcceleration\": 60.0, "
+        + "\"trackWidth\": 2.0, \"gameName\": \"Infinite Recharge\""
+        + (outputDir == null ? "" : ", \"outputDir\": \"" + outputDir + "\"") + "}");
+    Files.writeString(project.resolve("Paths").resolve("one.path"),
+        "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+            + "1.0,-5.0,3.0,0.0,true,false,\n"
+            + "6.0,-5.0,3.0,0.0,true,false,\n");
+  }
+}
@@ -0,0 +1,80 @@
+package edu.wpi.first.pathweaver;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread safe least recently used cache that holds at most a fixed number of values. Values are only
+ * softly reachable from the cache, so the garbage collector may drop them before they are evicted when
+ * memory runs low; a dropped value simply reads as missing.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class BoundedCache<K, V> {
+  private final Map<K, SoftReference<V>> entries;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxEntries the number of values to keep before evicting the least recently used one
+   */
+  public BoundedCache(int maxEntries) {
+    entries = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, SoftReference<V>> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Gets a cached value, marking it as recently used.
+   *
+   * @param key the key of the value
+   * @return the value, or null if it is not cached
+   */
+  public synchronized V get(K key) {
+    SoftReference<V> reference = entries.get(key);
+    if (reference == null) {
+      return null;
+    }
+    V value = reference.get();
+    if (value == null) {
+      entries.remove(key);
+    }
+    return value;
+  }
+
+  /**
+   * Caches a value, evicting the least recently used value if the cache is full.
+   *
+   * @param key   the key of the value
+   * @param value the value to cache
+   */
+  public synchronized void put(K key, V value) {
+    entries.put(key, new SoftReference<>(value));
+  }
+
+  /**
+   * Removes a value from the cache.
+   *
+   * @param key the key of the value
+   * @return the removed value, or null if it was not cached
+   */
+  public synchronized V remove(K key) {
+    SoftReference<V> reference = entries.remove(key);
+    return reference == null ? null : reference.get();
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+}
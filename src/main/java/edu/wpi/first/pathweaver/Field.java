@@ -1,7 +1,15 @@
 package edu.wpi.first.pathweaver;
 
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
+import edu.wpi.first.pathweaver.collision.CollisionChecker;
+import edu.wpi.first.pathweaver.collision.Obstacle;
+import javafx.geometry.Dimension2D;
 import javafx.geometry.Point2D;
 import javafx.scene.image.Image;
 import tech.units.indriya.quantity.Quantities;
@@ -13,6 +21,7 @@ import javax.measure.quantity.Length;
 public class Field {
 	private Supplier<Image> imageSupplier;
 	private Image image;
+	private final FieldImagePyramid imagePyramid;
 	private Quantity<Length> rWidth;
 	private Quantity<Length> rLength;
 	private double xPixel;
@@ -22,6 +31,8 @@ public class Field {
 	private double scale;
 	private Point2D coord;
 	public Unit<Length> unit;
+	private List<Obstacle> obstacles = List.of();
+	private CollisionChecker collisionChecker;
 
 	/**
 	 * Creates a new Field Object.
@@ -45,16 +56,33 @@ public class Field {
 	 */
 	public Field(Supplier<Image> imageSupplier, Unit<Length> unit, double realWidth, double realLength, double xPixel,
 			double yPixel, double pixelWidth, double pixelLength) {
-		this.imageSupplier = imageSupplier;
-		this.xPixel = xPixel;
-		this.yPixel = yPixel;
-		this.pixelWidth = pixelWidth;
-		this.pixelLength = pixelLength;
-		setRealWidth(Quantities.getQuantity(realWidth, unit));
-		setRealLength(Quantities.getQuantity(realLength, unit));
-		updateCoord();
-		updateScale();
-		setUnit(unit);
+		this(imageSupplier, null, unit, realWidth, realLength, xPixel, yPixel, pixelWidth, pixelLength);
+	}
+
+	/**
+	 * Creates a new Field Object whose image is read from a file when it is first displayed.
+	 *
+	 * @param imageLocation
+	 *            the location of the image file of the field, or null if the field has no image
+	 * @param unit
+	 *            unit which the field is measured
+	 * @param realWidth
+	 *            width of field in real units
+	 * @param realLength
+	 *            length of field in real units
+	 * @param xPixel
+	 *            x pixel top left x pixels
+	 * @param yPixel
+	 *            y pixel top left y pixels
+	 * @param pixelWidth
+	 *            width of drawable area in pixels
+	 * @param pixelLength
+	 *            length of drawable area in pixels
+	 */
+	public Field(URL imageLocation, Unit<Length> unit, double realWidth, double realLength, double xPixel,
+			double yPixel, double pixelWidth, double pixelLength) {
+		this(() -> imageLocation == null ? null : new Image(imageLocation.toExternalForm()), imageLocation, unit,
+				realWidth, realLength, xPixel, yPixel, pixelWidth, pixelLength);
 	}
 
 	/**
@@ -82,13 +110,94 @@ public class Field {
 		this(() -> image, unit, realWidth, realLength, xPixel, yPixel, pixelWidth, pixelLength);
 	}
 
-	public Image getImage() {
+	private Field(Supplier<Image> imageSupplier, URL imageLocation, Unit<Length> unit, double realWidth,
+			double realLength, double xPixel, double yPixel, double pixelWidth, double pixelLength) {
+		this.imageSupplier = imageSupplier;
+		this.imagePyramid = new FieldImagePyramid(this::getImage, imageLocation);
+		this.xPixel = xPixel;
+		this.yPixel = yPixel;
+		this.pixelWidth = pixelWidth;
+		this.pixelLength = pixelLength;
+		setRealWidth(Quantities.getQuantity(realWidth, unit));
+		setRealLength(Quantities.getQuantity(realLength, unit));
+		updateCoord();
+		updateScale();
+		setUnit(unit);
+	}
+
+	public synchronized Image getImage() {
 		if (image == null) {
 			image = imageSupplier.get();
 		}
 		return image;
 	}
 
+	/**
+	 * Gets the size of the field image. Images read from a file are not decoded to get their size.
+	 *
+	 * @return the width and height of the full size image, in pixels
+	 */
+	public Dimension2D getImageSize() {
+		return imagePyramid.getSourceSize();
+	}
+
+	/**
+	 * Gets a copy of the field image downscaled for display at the given width. The smallest cached copy
+	 * at least as wide as the display is used, and missing copies are built on a background thread.
+	 *
+	 * @param displayWidth
+	 *            the on-screen width of the field image, in device pixels
+	 * @return a future completing with the image to display
+	 */
+	public CompletableFuture<Image> getDisplayImage(double displayWidth) {
+		return imagePyramid.request(displayWidth);
+	}
+
+	/**
+	 * Sets the directory where downscaled copies of the field image are saved between launches.
+	 *
+	 * @param directory
+	 *            the cache directory for this field
+	 */
+	public void setImageCacheDirectory(Path directory) {
+		imagePyramid.setCacheDirectory(directory);
+	}
+
+	/**
+	 * Gets the obstacles on the field, in the field's current unit.
+	 *
+	 * @return the obstacles, which may be empty
+	 */
+	public synchronized List<Obstacle> getObstacles() {
+		return obstacles;
+	}
+
+	/**
+	 * Sets the obstacles on the field.
+	 *
+	 * @param obstacles
+	 *            the obstacles, in the field's current unit
+	 */
+	public synchronized void setObstacles(List<Obstacle> obstacles) {
+		this.obstacles = List.copyOf(obstacles);
+		collisionChecker = null;
+	}
+
+	/**
+	 * Gets a collision checker for the field's obstacles. The checker is kept until the obstacles, their
+	 * unit or the robot width change.
+	 *
+	 * @param trackWidth
+	 *            the width of the robot, in the field's current unit
+	 * @return the collision checker
+	 */
+	public synchronized CollisionChecker getCollisionChecker(double trackWidth) {
+		if (collisionChecker == null || collisionChecker.getTrackWidth() != trackWidth) {
+			collisionChecker = new CollisionChecker(obstacles, trackWidth);
+		}
+		return collisionChecker;
+	}
+
 	public Quantity<Length> getRealWidth() {
 		return rWidth;
 	}
@@ -145,6 +254,16 @@ public class Field {
 	 *            The unit system to convert the Field to.
 	 */
 	public void convertUnit(Unit<Length> unit) {
+		if (unit.equals(this.unit)) {
+			// Already in this unit; keeps the collision checker, as this is called whenever the field is fetched
+			return;
+		}
+		double factor = Quantities.getQuantity(1, this.unit).to(unit).getValue().doubleValue();
+		List<Obstacle> converted = new ArrayList<>(obstacles.size());
+		for (Obstacle obstacle : obstacles) {
+			converted.add(obstacle.scale(factor));
+		}
+		setObstacles(converted);
 		setUnit(unit);
 		setRealWidth(rWidth.to(unit));
 		setRealLength(rLength.to(unit));
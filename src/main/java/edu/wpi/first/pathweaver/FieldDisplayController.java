@@ -1,29 +1,60 @@
 package edu.wpi.first.pathweaver;
 
+import edu.wpi.first.pathweaver.collision.Obstacle;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
 import edu.wpi.first.pathweaver.global.DragHandler;
 import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.PathTransforms;
 import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import edu.wpi.first.pathweaver.spline.wpilib.CurvatureHeatmap;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Dimension2D;
+import javafx.geometry.Point2D;
 import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.TreeItem;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
+import javafx.scene.shape.Polygon;
+import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Scale;
+import javafx.scene.transform.Transform;
+import javafx.scene.transform.Translate;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @SuppressWarnings("PMD.UnusedPrivateMethod")
 public class FieldDisplayController {
     private static final PseudoClass SELECTED_CLASS = PseudoClass.getPseudoClass("selected");
+    private static final double NUDGE_DISTANCE = 0.1;
+    private static final double ROTATE_STEP = 15;
+    private static final double SCALE_STEP = 1.1;
 
     @FXML
     public Group group;
@@ -37,27 +68,48 @@ public class FieldDisplayController {
     private Group pathGroup;
 
     private Field field;
+    private PerformanceOverlay performanceOverlay;
+    private final TrajectoryPlayback playback = new TrajectoryPlayback();
+    private long imageRequest = 0;
+    // Device pixels per layout pixel of the window showing the field
+    private final DoubleProperty outputScale = new SimpleDoubleProperty(1);
 
     private final ObservableList<Path> pathList = FXCollections.observableArrayList();
+    private Function<String, Path> pathSource = fileName -> null;
+    private PathRegistry pathRegistry = new PathRegistry();
 
     @FXML
     private void initialize() {
         field = ProjectPreferences.getInstance().getField();
-        Image image = field.getImage();
-        backgroundImage.setImage(image);
+        // The image is shown once a copy for the display size is ready, without decoding the full image first
+        Dimension2D imageSize = field.getImageSize();
+        // Keep the full-size layout so that smaller display copies don't move the draw pane
+        backgroundImage.setFitWidth(imageSize.getWidth());
+        backgroundImage.setFitHeight(imageSize.getHeight());
         topPane.getStyleClass().add("pane");
         Scale scale = new Scale();
         scale.xProperty().bind(Bindings.createDoubleBinding(() ->
-                        Math.min(topPane.getWidth() / image.getWidth(), topPane.getHeight() / image.getHeight()),
+                        Math.min(topPane.getWidth() / imageSize.getWidth(), topPane.getHeight() / imageSize.getHeight()),
                 topPane.widthProperty(), topPane.heightProperty()));
         scale.yProperty().bind(Bindings.createDoubleBinding(() ->
-                        Math.min(topPane.getWidth() / image.getWidth(), topPane.getHeight() / image.getHeight()),
+                        Math.min(topPane.getWidth() / imageSize.getWidth(), topPane.getHeight() / imageSize.getHeight()),
                 topPane.widthProperty(), topPane.heightProperty()));
 
         group.getTransforms().add(scale);
+        DoubleBinding displayWidth = Bindings.createDoubleBinding(
+                () -> imageSize.getWidth() * scale.getX() * outputScale.get(), scale.xProperty(), outputScale);
+        displayWidth.addListener((observable, oldValue, newValue) -> updateBackgroundImage(newValue.doubleValue()));
+        trackOutputScale();
+        updateBackgroundImage(displayWidth.get());
 
         setupDrawPaneSizing();
+        drawObstacles();
         this.drawPane.setOnMouseClicked(e -> {
+            // Releasing a selection box also clicks the draw pane
+            if (!e.isStillSincePress()) {
+                return;
+            }
+            CurrentSelections.getSelectedWaypoints().clear();
             if (CurrentSelections.getCurWaypoint() != null) {
                 CurrentSelections.getCurWaypoint().getIcon().pseudoClassStateChanged(SELECTED_CLASS, false);
                 CurrentSelections.setCurWaypoint(null);
@@ -70,9 +122,68 @@ public class FieldDisplayController {
 
         new DragHandler(this, drawPane); // Handler doesn't need to be kept around by this, so just do setup
 
+        performanceOverlay = new PerformanceOverlay(pathGroup);
+        performanceOverlay.setLayoutX(8);
+        performanceOverlay.setLayoutY(8);
+        topPane.getChildren().add(performanceOverlay);
+        drawPane.getChildren().add(playback.getRobot());
+
         setupPathListener();
     }
 
+    private void drawObstacles() {
+        int index = 0;
+        for (Obstacle obstacle : field.getObstacles()) {
+            Polygon polygon = new Polygon();
+            for (int corner = 0; corner < obstacle.getCornerCount(); corner++) {
+                polygon.getPoints().addAll(obstacle.getX(corner), obstacle.getY(corner));
+            }
+            polygon.getStyleClass().add("obstacle");
+            polygon.setMouseTransparent(true);
+            // Keep obstacles under the paths
+            drawPane.getChildren().add(index++, polygon);
+        }
+    }
+
+    /**
+     * Follows the output scale of the window showing the field, so that HiDPI screens get an image with as
+     * many pixels as the screen shows.
+     */
+    private void trackOutputScale() {
+        ChangeListener<Window> windowListener = (observable, oldWindow, newWindow) -> {
+            outputScale.unbind();
+            if (newWindow == null) {
+                outputScale.set(Screen.getPrimary().getOutputScaleX());
+            } else {
+                outputScale.bind(newWindow.outputScaleXProperty());
+            }
+        };
+        topPane.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(windowListener);
+            }
+            if (newScene != null) {
+                newScene.windowProperty().addListener(windowListener);
+            }
+            windowListener.changed(null, null, newScene == null ? null : newScene.getWindow());
+        });
+        Scene scene = topPane.getScene();
+        if (scene != null) {
+            scene.windowProperty().addListener(windowListener);
+        }
+        windowListener.changed(null, null, scene == null ? null : scene.getWindow());
+    }
+
+    private void updateBackgroundImage(double displayWidth) {
+        long request = ++imageRequest;
+        field.getDisplayImage(displayWidth).thenAccept(scaled -> Platform.runLater(() -> {
+            // Drop results that finished after a newer resize
+            if (request == imageRequest) {
+                backgroundImage.setImage(scaled);
+            }
+        }));
+    }
+
     private void setupPathListener() {
         pathList.addListener((ListChangeListener<Path>) change -> {
             while (change.next()) {
@@ -90,13 +201,115 @@ public class FieldDisplayController {
     private void keyPressed(KeyEvent event) {
         Path curPath = CurrentSelections.getCurPath();
         KeyCombination save = new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN);
-        if (event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE) {
+        if (event.getCode() == KeyCode.F3) {
+            performanceOverlay.toggle();
+        } else if (event.getCode() == KeyCode.P) {
+            togglePlayback();
+        } else if (event.getCode() == KeyCode.H) {
+            cycleHeatmap();
+        } else if (event.getCode() == KeyCode.EQUALS || event.getCode() == KeyCode.ADD) {
+            playback.setSpeed(playback.getSpeed() * 2);
+        } else if (event.getCode() == KeyCode.MINUS || event.getCode() == KeyCode.SUBTRACT) {
+            playback.setSpeed(playback.getSpeed() / 2);
+        } else if (event.getCode() == KeyCode.ESCAPE) {
+            CurrentSelections.getSelectedWaypoints().clear();
+        } else if (!CurrentSelections.getSelectedWaypoints().isEmpty() && transformSelection(event)) {
+            event.consume();
+        } else if (event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE) {
             curPath.removeWaypoint(CurrentSelections.getCurWaypoint());
         } else if (save.match(event)) {
             SaveManager.getInstance().saveChange(curPath);
         }
     }
 
+    private boolean transformSelection(KeyEvent event) {
+        Point2D center = getSelectionCenter();
+        double rotateStep = event.isShiftDown() ? -ROTATE_STEP : ROTATE_STEP;
+        switch (event.getCode()) {
+            case LEFT:
+                return transformSelection(new Translate(-NUDGE_DISTANCE, 0));
+            case RIGHT:
+                return transformSelection(new Translate(NUDGE_DISTANCE, 0));
+            case UP:
+                return transformSelection(new Translate(0, NUDGE_DISTANCE));
+            case DOWN:
+                return transformSelection(new Translate(0, -NUDGE_DISTANCE));
+            case R:
+                return transformSelection(new Rotate(rotateStep, center.getX(), center.getY()));
+            case OPEN_BRACKET:
+                return transformSelection(new Scale(1 / SCALE_STEP, 1 / SCALE_STEP, center.getX(), center.getY()));
+            case CLOSE_BRACKET:
+                return transformSelection(new Scale(SCALE_STEP, SCALE_STEP, center.getX(), center.getY()));
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Moves every selected waypoint by a transform, such as a translation, rotation or scale. The selection
+     * only moves if all of it stays on the field, and each path with selected waypoints is updated once.
+     *
+     * @param transform the transform, in waypoint coordinates
+     * @return true if the selection moved
+     */
+    public boolean transformSelection(Transform transform) {
+        Set<Waypoint> selected = CurrentSelections.getSelectedWaypoints();
+        Bounds bounds = getWaypointBounds();
+        Map<Path, List<Waypoint>> selectedByPath = new IdentityHashMap<>();
+        for (Path path : pathList) {
+            for (Waypoint wp : path.getWaypoints()) {
+                if (selected.contains(wp)) {
+                    selectedByPath.computeIfAbsent(path, key -> new ArrayList<>()).add(wp);
+                }
+            }
+        }
+        return transformPaths(selectedByPath, transform, bounds);
+    }
+
+    private boolean transformPaths(Map<Path, List<Waypoint>> waypointsByPath, Transform transform, Bounds bounds) {
+        if (!PathTransforms.transformAll(waypointsByPath, transform, bounds)) {
+            return false;
+        }
+        for (Path path : waypointsByPath.keySet()) {
+            SaveManager.getInstance().addChange(path);
+        }
+        return true;
+    }
+
+    /**
+     * Selects the waypoints of the displayed paths inside an area.
+     *
+     * @param area     the area, in waypoint coordinates
+     * @param additive true to add to the selection, false to replace it
+     */
+    public void selectWaypointsIn(Bounds area, boolean additive) {
+        List<Waypoint> inside = new ArrayList<>();
+        for (Path path : pathList) {
+            for (Waypoint wp : path.getWaypoints()) {
+                if (area.contains(wp.getX(), wp.getY())) {
+                    inside.add(wp);
+                }
+            }
+        }
+        if (additive) {
+            CurrentSelections.getSelectedWaypoints().addAll(inside);
+        } else {
+            CurrentSelections.getSelectedWaypoints().retainAll(inside);
+            CurrentSelections.getSelectedWaypoints().addAll(inside);
+        }
+    }
+
+    private Point2D getSelectionCenter() {
+        double x = 0;
+        double y = 0;
+        for (Waypoint wp : CurrentSelections.getSelectedWaypoints()) {
+            x += wp.getX();
+            y += wp.getY();
+        }
+        int count = Math.max(CurrentSelections.getSelectedWaypoints().size(), 1);
+        return new Point2D(x / count, y / count);
+    }
+
     /**
      * Adds a path to the controller.
      *
@@ -111,10 +324,11 @@ public class FieldDisplayController {
                 return path;
             }
         }
-        Path newPath = PathIOUtil.importPath(fileLocations, fileName);
-        if (newPath == null) {
-            newPath = new WpilibPath(fileName);
-            SaveManager.getInstance().saveChange(newPath);
+        Path newPath = pathRegistry.get(new File(fileLocations, fileName), model -> createPath(model, fileName));
+        // Undo the styling of wherever a view with unsaved edits was shown last
+        newPath.enableSubchildSelector(0);
+        if (newPath.getSpline() instanceof WpilibSpline) {
+            ((WpilibSpline) newPath.getSpline()).applyAnalysisStyle();
         }
         CurrentSelections.curPathProperty().set(newPath);
 
@@ -122,13 +336,71 @@ public class FieldDisplayController {
         return newPath;
     }
 
+    private Path createPath(PathModel model, String fileName) {
+        Path newPath = pathSource.apply(fileName);
+        if (newPath == null && model != null) {
+            newPath = model.createPath(fileName);
+        }
+        if (newPath == null) {
+            newPath = new WpilibPath(fileName);
+            SaveManager.getInstance().saveChange(newPath);
+        }
+        return newPath;
+    }
+
+    /**
+     * Sets the project's registry of loaded paths, which the displayed paths are taken from.
+     *
+     * @param pathRegistry the registry of the project
+     */
+    public void setPathRegistry(PathRegistry pathRegistry) {
+        this.pathRegistry = pathRegistry;
+    }
+
+    /**
+     * Sets where paths that were already read are taken from before they are read from disk.
+     *
+     * @param pathSource gives the path with a file name, or null if it has to be read
+     */
+    public void setPathSource(Function<String, Path> pathSource) {
+        this.pathSource = pathSource;
+    }
+
     /**
      * Remove all paths from Controller.
      */
     public void removeAllPath() {
+        playback.stop();
+        CurrentSelections.getSelectedWaypoints().clear();
         pathList.clear();
     }
 
+    /**
+     * Starts or stops driving a robot along the displayed paths, in the order they were added. The speed
+     * is doubled with + and halved with -.
+     *
+     * @return true if playback started
+     */
+    public boolean togglePlayback() {
+        if (playback.isPlaying()) {
+            playback.stop();
+            return false;
+        }
+        return playback.play(pathList);
+    }
+
+    /**
+     * Switches the displayed paths to the next {@link CurvatureHeatmap} mode.
+     */
+    public void cycleHeatmap() {
+        CurvatureHeatmap.setMode(CurvatureHeatmap.getMode().next());
+        for (Path path : pathList) {
+            if (path.getSpline() instanceof WpilibSpline) {
+                ((WpilibSpline) path.getSpline()).applyAnalysisStyle();
+            }
+        }
+    }
+
     private void setupDrawPaneSizing() {
         drawPane.setPrefHeight(field.getRealLength().getValue().doubleValue());
         drawPane.setPrefWidth(field.getRealWidth().getValue().doubleValue());
@@ -145,8 +417,39 @@ public class FieldDisplayController {
      */
     public void flip(boolean horizontal) {
         Path curPath = CurrentSelections.getCurPath();
-        curPath.flip(horizontal, drawPane);
-        SaveManager.getInstance().addChange(curPath);
+        if (curPath.flip(horizontal, getWaypointBounds())) {
+            SaveManager.getInstance().addChange(curPath);
+        } else {
+            showOutOfBounds("The path could not be flipped.", "Flipping this path would cause it to go out of bounds");
+        }
+    }
+
+    /**
+     * Moves every displayed path to the other alliance, as one operation.
+     *
+     * @param rotate True to turn the paths half way around the center of the field, false to mirror them
+     *               across its center line
+     */
+    public void mirrorAlliance(boolean rotate) {
+        Bounds bounds = getWaypointBounds();
+        Transform transform = rotate ? PathTransforms.rotateAlliance(bounds) : PathTransforms.mirrorAlliance(bounds);
+        Map<Path, List<Waypoint>> waypointsByPath = new IdentityHashMap<>();
+        for (Path path : pathList) {
+            waypointsByPath.put(path, path.getWaypoints());
+        }
+        if (!transformPaths(waypointsByPath, transform, bounds)) {
+            showOutOfBounds("The paths could not be moved to the other alliance.",
+                    "Moving these paths would cause them to go out of bounds");
+        }
+    }
+
+    private void showOutOfBounds(String header, String content) {
+        Alert a = new Alert(Alert.AlertType.INFORMATION);
+        FxUtils.applyDarkMode(a);
+        a.setTitle("");
+        a.setHeaderText(header);
+        a.setContentText(content);
+        a.show();
     }
 
     /**
@@ -172,4 +475,15 @@ public class FieldDisplayController {
         //Convert waypoint convention to JavaFX
         return drawPane.getLayoutBounds().contains(x, -y);
     }
+
+    /**
+     * Gets the valid area of the drawpane.
+     *
+     * @return the area, following {@link Waypoint} convention
+     */
+    public Bounds getWaypointBounds() {
+        Bounds bounds = drawPane.getLayoutBounds();
+        //Convert JavaFX convention to waypoint
+        return new BoundingBox(bounds.getMinX(), -bounds.getMaxY(), bounds.getWidth(), bounds.getHeight());
+    }
 }
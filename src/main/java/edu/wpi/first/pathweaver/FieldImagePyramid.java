@@ -0,0 +1,266 @@
+package edu.wpi.first.pathweaver;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import javafx.geometry.Dimension2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A cache of progressively halved copies of a field image. Level 0 is the source image, and every
+ * following level is half the width and height of the one before it. Levels are built off the FX
+ * thread and, when the source is a file and a cache directory is set, saved to disk so later launches
+ * can skip the scaling. Saved levels are named after the location, size and modification time of the
+ * source file, so they are found without decoding the source, and replacing the field image does not
+ * bring back the old copies. The size of a source file is read from its header, so the source is only
+ * decoded when a level has to be built from it.
+ */
+final class FieldImagePyramid {
+  private static final Logger LOGGER = Logger.getLogger(FieldImagePyramid.class.getName());
+  private static final int MIN_LEVEL_WIDTH = 64;
+  private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Field image scaler");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Supplier<Image> source;
+  private final URL location;
+  private final Map<Integer, Image> levels = new ConcurrentHashMap<>();
+  private volatile Path cacheDirectory;
+  private volatile Dimension2D sourceSize;
+  private volatile String sourceKey;
+
+  FieldImagePyramid(Supplier<Image> source) {
+    this(source, null);
+  }
+
+  /**
+   * Creates a pyramid of an image.
+   *
+   * @param source   decodes the source image
+   * @param location the file the source is decoded from, or null if it is not read from a file
+   */
+  FieldImagePyramid(Supplier<Image> source, URL location) {
+    this.source = source;
+    this.location = location;
+  }
+
+  void setCacheDirectory(Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /**
+   * Gets the size of the source image, from the header of its file when there is one.
+   *
+   * @return the width and height of the source, in pixels
+   */
+  Dimension2D getSourceSize() {
+    if (sourceSize == null) {
+      Dimension2D size = location == null ? null : readSize(location);
+      if (size == null) {
+        Image image = source.get();
+        size = image == null ? new Dimension2D(0, 0) : new Dimension2D(image.getWidth(), image.getHeight());
+      }
+      sourceSize = size;
+    }
+    return sourceSize;
+  }
+
+  /**
+   * Gets the smallest level that is still at least as wide as the given display width.
+   *
+   * @param displayWidth the width of the image on screen, in device pixels
+   * @return the pyramid level to display
+   */
+  int levelFor(double displayWidth) {
+    double width = getSourceSize().getWidth();
+    int level = 0;
+    while (width / 2 >= displayWidth && width / 2 >= MIN_LEVEL_WIDTH) {
+      width /= 2;
+      level++;
+    }
+    return level;
+  }
+
+  /**
+   * Gets the image to display at the given width. Completes immediately if that level is already
+   * built, otherwise the level is read from disk or built on a background thread.
+   *
+   * @param displayWidth the width of the image on screen, in device pixels
+   * @return a future completing with the scaled image
+   */
+  CompletableFuture<Image> request(double displayWidth) {
+    int level = levelFor(displayWidth);
+    Image cached = levels.get(level);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return CompletableFuture.supplyAsync(() -> build(level), EXECUTOR);
+  }
+
+  private Image build(int level) {
+    Image cached = levels.get(level);
+    if (cached != null) {
+      return cached;
+    }
+    Image image;
+    if (level == 0) {
+      image = source.get();
+    } else {
+      image = readFromDisk(level);
+      if (image == null) {
+        WritableImage halved = halve(build(level - 1));
+        writeToDisk(level, halved);
+        image = halved;
+      }
+    }
+    levels.put(level, image);
+    return image;
+  }
+
+  private static WritableImage halve(Image image) {
+    int width = (int) image.getWidth();
+    int height = (int) image.getHeight();
+    int newWidth = Math.max(1, width / 2);
+    int newHeight = Math.max(1, height / 2);
+
+    int[] in = new int[width * height];
+    image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), in, 0, width);
+    int[] out = new int[newWidth * newHeight];
+    for (int y = 0; y < newHeight; y++) {
+      int row = Math.min(y * 2, height - 1) * width;
+      int nextRow = Math.min(y * 2 + 1, height - 1) * width;
+      for (int x = 0; x < newWidth; x++) {
+        int col = Math.min(x * 2, width - 1);
+        int nextCol = Math.min(x * 2 + 1, width - 1);
+        out[y * newWidth + x] = average(in[row + col], in[row + nextCol], in[nextRow + col], in[nextRow + nextCol]);
+      }
+    }
+
+    WritableImage result = new WritableImage(newWidth, newHeight);
+    result.getPixelWriter().setPixels(0, 0, newWidth, newHeight, PixelFormat.getIntArgbInstance(), out, 0, newWidth);
+    return result;
+  }
+
+  private static int average(int a, int b, int c, int d) {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 8) {
+      int sum = ((a >>> shift) & 0xFF) + ((b >>> shift) & 0xFF) + ((c >>> shift) & 0xFF) + ((d >>> shift) & 0xFF);
+      result |= ((sum + 2) / 4) << shift;
+    }
+    return result;
+  }
+
+  private Path cacheFile(int level) {
+    if (cacheDirectory == null || location == null) {
+      return null;
+    }
+    if (sourceKey == null) {
+      try {
+        sourceKey = keyFor(location);
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Could not read field image " + location, e);
+        return null;
+      }
+    }
+    return cacheDirectory.resolve(sourceKey + "-" + level + ".png");
+  }
+
+  /**
+   * Names an image file by its location, size and modification time.
+   */
+  static String keyFor(URL location) throws IOException {
+    URLConnection connection = location.openConnection();
+    long size = connection.getContentLengthLong();
+    long lastModified = connection.getLastModified();
+    // Connecting may open the file
+    connection.getInputStream().close();
+    return String.format("%08x-%d-%d", location.toExternalForm().hashCode(), size, lastModified);
+  }
+
+  /**
+   * Reads the size of an image from the header of its file.
+   *
+   * @return the size, or null if the file could not be read
+   */
+  private static Dimension2D readSize(URL location) {
+    try (InputStream in = location.openStream();
+         ImageInputStream input = ImageIO.createImageInputStream(in)) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input);
+        return new Dimension2D(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not read the size of field image " + location, e);
+      return null;
+    }
+  }
+
+  private Image readFromDisk(int level) {
+    Path file = cacheFile(level);
+    if (file == null || !Files.exists(file)) {
+      return null;
+    }
+    try {
+      BufferedImage buffered = ImageIO.read(file.toFile());
+      if (buffered == null) {
+        return null;
+      }
+      int width = buffered.getWidth();
+      int height = buffered.getHeight();
+      int[] pixels = buffered.getRGB(0, 0, width, height, null, 0, width);
+      WritableImage image = new WritableImage(width, height);
+      image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+      return image;
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not read cached field image " + file, e);
+      return null;
+    }
+  }
+
+  private void writeToDisk(int level, WritableImage image) {
+    Path file = cacheFile(level);
+    if (file == null) {
+      return;
+    }
+    int width = (int) image.getWidth();
+    int height = (int) image.getHeight();
+    int[] pixels = new int[width * height];
+    image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+    BufferedImage buffered = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    buffered.setRGB(0, 0, width, height, pixels, 0, width);
+    try {
+      Files.createDirectories(cacheDirectory);
+      ImageIO.write(buffered, "png", file.toFile());
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not cache field image in " + cacheDirectory, e);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import javafx.scene.control.TextFormatter;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 
 public final class FxUtils {
@@ -64,6 +65,7 @@ public final class FxUtils {
 
   /**
    * Updates all SUBCHILD_SELECTORS for the given node to be enabled (if the correct index) or disabled.
+   * The new style is picked up on the next CSS pass, so callers should not force one with applyCss().
    * @param node The node to enable/disable subchild pseudoclasses on
    * @param idx The index of SUBCHILD_SELECTORS to set enabled. Use -1 to disable all.
    */
@@ -169,6 +171,24 @@ public final class FxUtils {
     return false;
   }
 
+  /**
+   * Shows a problem found while reading project preferences in a dialog that stays on top.
+   * @param level SEVERE for an error dialog, anything else for a warning
+   * @param title The dialog title
+   * @param message The dialog text
+   */
+  public static void showPreferencesWarning(Level level, String title, String message) {
+    Alert alert = new Alert(level.intValue() >= Level.SEVERE.intValue()
+        ? Alert.AlertType.ERROR : Alert.AlertType.WARNING);
+    applyDarkMode(alert);
+    alert.setTitle(title);
+    alert.setContentText(message);
+    ((Stage) alert.getDialogPane().getScene().getWindow()).setAlwaysOnTop(true);
+    alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
+
+    alert.show();
+  }
+
   public static void applyDarkMode(Alert alert){
     final boolean darkIsOn = PathWeaver.mainScene.getStylesheets().contains(FxUtils.class.getResource("dark.css").toExternalForm());
     if(darkIsOn) {
@@ -5,11 +5,11 @@ import edu.wpi.first.pathweaver.extensions.ExtensionLoader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.nio.file.Paths;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
-import javafx.scene.image.Image;
 
 public final class Game {
   private static final Set<Game> GAMES = new LinkedHashSet<>();
@@ -44,6 +44,8 @@ public final class Game {
       throw new DuplicateGameException("A game already exists with the name \"" + name + "\"");
     }
     Game game = new Game(name, field);
+    field.setImageCacheDirectory(Paths.get(System.getProperty("user.home"), "PathWeaver", "cache", "fields",
+        name.replaceAll("[^A-Za-z0-9._-]", "_")));
     GAMES.add(game);
     return game;
   }
@@ -102,6 +104,6 @@ public final class Game {
       throw new IllegalStateException("Could not load the resource game definition: " + gameJsonPath, e);
     }
     ExtensionLoader loader = new ExtensionLoader();
-    return loader.loadFromJsonString(name -> new Image(Game.class.getResourceAsStream(name)), jsonText);
+    return loader.loadFromJsonString(Game.class::getResource, jsonText);
   }
 }
@@ -1,7 +1,9 @@
 package edu.wpi.first.pathweaver;
 
+import edu.wpi.first.pathweaver.build.HeadlessBuild;
 import javafx.application.Application;
 
+import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -13,6 +15,10 @@ import java.util.Locale;
 @SuppressWarnings("PMD.UseUtilityClass")
 public final class Main {
   public static void main(String[] args) {
+    if (args.length > 0 && "--build".equals(args[0])) {
+      HeadlessBuild.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
     // JavaFX 11+ uses GTK3 by default, and has problems on some display servers
     // This flag forces JavaFX to use GTK2
     Locale.setDefault(new Locale("en", "US"));
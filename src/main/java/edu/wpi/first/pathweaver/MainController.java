@@ -1,30 +1,43 @@
 package edu.wpi.first.pathweaver;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import edu.wpi.first.pathweaver.build.BuildReport;
+import edu.wpi.first.pathweaver.build.ParameterSweep;
+import edu.wpi.first.pathweaver.build.PathBuilder;
+import edu.wpi.first.pathweaver.build.TrajectoryMirror;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
 import edu.wpi.first.pathweaver.path.Path;
 import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 
@@ -45,10 +58,21 @@ public class MainController {
   @FXML private GridPane editWaypoint;
   @FXML private EditWaypointController editWaypointController;
 
+  @FXML private TrajectoryPreview trajectoryPreview;
+
+  @FXML private VBox loadIndicator;
+  @FXML private ProgressBar loadProgress;
+  @FXML private Label loadStatus;
+  private ProjectLoader loader;
+  @FXML private TextField search;
+  private final ContextMenu searchResults = new ContextMenu();
+  private ProjectIndex index;
+  private final PathRegistry pathRegistry = new PathRegistry();
+  private final Consumer<Path> pathSaved = pathRegistry::saved;
+
   private String directory = ProjectPreferences.getInstance().getDirectory();
   private final String pathDirectory = directory + "/Paths/";
   private final String autonDirectory = directory + "/Autos/";
-  private final String groupDirectory = directory + "/Groups/"; // Legacy dir for backwards compatibility
   private final TreeItem<String> autonRoot = new TreeItem<>("Autons");
   private final TreeItem<String> pathRoot = new TreeItem<>("Paths");
 
@@ -57,6 +81,9 @@ public class MainController {
   @FXML private Button duplicate;
   @FXML private Button flipHorizontal;
   @FXML private Button flipVertical;
+  @FXML private Button mirrorAlliance;
+  @FXML private Button rotateAlliance;
+  @FXML private Button play;
 
   @FXML
   private void initialize() {
@@ -65,19 +92,21 @@ public class MainController {
     setupTreeView(autons, autonRoot, FxUtils.menuItem("New Autonomous...", event -> createAuton()));
     setupTreeView(paths, pathRoot, FxUtils.menuItem("New Path...", event -> createPath()));
 
-    // Copying files from the old directory name to the new one to maintain backwards compatibility
-    try {
-      MainIOUtil.copyGroupFiles(autonDirectory, groupDirectory);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-
-    MainIOUtil.setupItemsInDirectory(pathDirectory, pathRoot);
-    MainIOUtil.setupItemsInDirectory(autonDirectory, autonRoot);
-
     setupClickablePaths();
     setupClickableAutons();
-    loadAllAutons();
+    // The trees are filled in by the loader, after the main screen is shown
+    loader = new ProjectLoader(directory, pathRoot, autonRoot);
+    loadProgress.progressProperty().bind(loader.progressProperty());
+    loadStatus.textProperty().bind(loader.messageProperty());
+    loadIndicator.visibleProperty().bind(loader.runningProperty());
+    loadIndicator.managedProperty().bind(loader.runningProperty());
+    fieldDisplayController.setPathSource(loader::takePath);
+    fieldDisplayController.setPathRegistry(pathRegistry);
+    SaveManager.getInstance().addSaveListener(pathSaved);
+    loader.start();
+    index = new ProjectIndex(directory);
+    index.start();
+    setupSearch();
 
     autons.setEditable(true);
     paths.setEditable(true);
@@ -86,8 +115,12 @@ public class MainController {
     duplicate.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
     flipHorizontal.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
     flipVertical.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
+    mirrorAlliance.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
+    rotateAlliance.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
+    play.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
 
     editWaypointController.bindToWaypoint(CurrentSelections.curWaypointProperty(), fieldDisplayController);
+    trajectoryPreview.bindToPath(CurrentSelections.curPathProperty());
   }
 
   private void setupTreeView(TreeView<String> treeView, TreeItem<String> treeRoot, MenuItem newItem) {
@@ -240,6 +273,48 @@ public class MainController {
   }
 
 
+  private void setupSearch() {
+    search.textProperty().addListener((observable, oldValue, newValue) -> {
+      searchResults.getItems().clear();
+      for (ProjectIndex.Match match : index.search(newValue, 20)) {
+        searchResults.getItems().add(FxUtils.menuItem(match.toString(), event -> showMatch(match)));
+      }
+      if (searchResults.getItems().isEmpty()) {
+        searchResults.hide();
+      } else if (!searchResults.isShowing()) {
+        searchResults.show(search, Side.BOTTOM, 0, 0);
+      }
+    });
+    search.setOnAction(event -> {
+      if (!searchResults.getItems().isEmpty()) {
+        searchResults.getItems().get(0).fire();
+      }
+    });
+  }
+
+  private void showMatch(ProjectIndex.Match match) {
+    searchResults.hide();
+    if (match.getKind() == ProjectIndex.Kind.AUTON) {
+      autonRoot.getChildren().stream().filter(item -> match.getName().equals(item.getValue())).findFirst()
+          .ifPresent(item -> autons.getSelectionModel().select(item));
+      return;
+    }
+    TreeItem<String> item = pathRoot.getChildren().stream()
+        .filter(it -> match.getPathName().equals(it.getValue())).findFirst().orElse(null);
+    if (item == null) {
+      return;
+    }
+    // Reselect so the path is shown even if it is already selected while an auton is displayed
+    paths.getSelectionModel().clearSelection();
+    paths.getSelectionModel().select(item);
+    Path path = CurrentSelections.getCurPath();
+    // Saving can be cancelled when switching paths, which leaves the previous path shown
+    if (match.getKind() == ProjectIndex.Kind.WAYPOINT && path != null
+        && match.getPathName().equals(path.getPathName()) && match.getWaypointIndex() < path.getWaypoints().size()) {
+      path.selectWaypoint(path.getWaypoints().get(match.getWaypointIndex()));
+    }
+  }
+
   private void setupClickablePaths() {
     ChangeListener<TreeItem<String>> selectionListener =
         new ChangeListener<>() {
@@ -321,6 +396,21 @@ public class MainController {
     fieldDisplayController.flip(false);
   }
 
+  @FXML
+  private void mirrorAlliance() {
+    fieldDisplayController.mirrorAlliance(false);
+  }
+
+  @FXML
+  private void rotateAlliance() {
+    fieldDisplayController.mirrorAlliance(true);
+  }
+
+  @FXML
+  private void play() {
+    fieldDisplayController.togglePlayback();
+  }
+
   @FXML
   private void duplicate() {
     Path newPath = fieldDisplayController.duplicate(pathDirectory);
@@ -347,40 +437,139 @@ public class MainController {
   }
 
   @FXML
-
   private void buildPaths() {
     if (!SaveManager.getInstance().promptSaveAll()) {
       return;
     }
 
     java.nio.file.Path output = ProjectPreferences.getInstance().getOutputDir().toPath();
+    List<String> pathNames = new ArrayList<>();
+    for (TreeItem<String> pathName : pathRoot.getChildren()) {
+      pathNames.add(pathName.getValue());
+    }
+    List<String> autonNames = new ArrayList<>();
+    for (TreeItem<String> autonName : autonRoot.getChildren()) {
+      autonNames.add(autonName.getValue());
+    }
+    PathBuilder builder = new PathBuilder(Paths.get(directory), output, TrajectoryMirror.forProject());
+    // Generating every trajectory can take a while, so the build runs off the FX thread like the sweep
+    Task<BuildReport> build = new Task<>() {
+      @Override
+      protected BuildReport call() throws IOException {
+        return builder.build(pathNames, autonNames);
+      }
+    };
+    build.setOnSucceeded(event -> {
+      BuildReport report = build.getValue();
+      List<String> failed = new ArrayList<>(report.getFailedPaths());
+      failed.addAll(report.getFailedAutons());
+      Alert alert;
+      if (failed.isEmpty()) {
+        alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Paths exported!");
+        alert.setContentText(String.format("Paths exported to: %s%nRebuilt %d of %d paths in %.0f ms.",
+            output.toAbsolutePath(), report.getRebuiltCount(), report.getPaths().size(),
+            report.getWallTimeMillis()));
+      } else {
+        alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Path export failure!");
+        alert.setContentText("Could not export " + String.join(", ", failed)
+            + " to: " + output.toAbsolutePath());
+      }
+      FxUtils.applyDarkMode(alert);
+      alert.show();
+    });
+    build.setOnFailed(event -> LOGGER.log(Level.WARNING, "Could not export to " + output, build.getException()));
+    Thread thread = new Thread(build, "Path build");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @FXML
+  private void sweepParameters() {
+    if (!SaveManager.getInstance().promptSaveAll()) {
+      return;
+    }
+    ProjectPreferences.Values values = ProjectPreferences.getInstance().getValues();
+    TextField velocities = new TextField(String.valueOf(values.getMaxVelocity()));
+    TextField accelerations = new TextField(String.valueOf(values.getMaxAcceleration()));
+    GridPane grid = new GridPane();
+    grid.setHgap(10);
+    grid.setVgap(10);
+    grid.addRow(0, new Label("Max velocities:"), velocities);
+    grid.addRow(1, new Label("Max accelerations:"), accelerations);
+
+    Alert prompt = new Alert(Alert.AlertType.CONFIRMATION);
+    FxUtils.applyDarkMode(prompt);
+    prompt.setTitle("Parameter sweep");
+    prompt.setHeaderText("Time every path under each combination of the comma separated values.");
+    prompt.getDialogPane().setContent(grid);
+    if (prompt.showAndWait().filter(ButtonType.OK::equals).isEmpty()) {
+      return;
+    }
+
+    double[] maxVelocities;
+    double[] maxAccelerations;
     try {
-      Files.createDirectories(output);
-    } catch (IOException e) {
-      LOGGER.log(Level.WARNING, "Could not export to " + output, e);
+      maxVelocities = parseValues(velocities.getText());
+      maxAccelerations = parseValues(accelerations.getText());
+    } catch (NumberFormatException e) {
+      Alert alert = new Alert(Alert.AlertType.WARNING);
+      FxUtils.applyDarkMode(alert);
+      alert.setTitle("Invalid sweep values");
+      alert.setContentText("Sweep values must be positive numbers separated by commas.");
+      alert.show();
+      return;
     }
-    for (TreeItem<String> pathName : pathRoot.getChildren()) {
-      Path path = PathIOUtil.importPath(pathDirectory, pathName.getValue());
 
-      java.nio.file.Path pathNameFile = output.resolve(path.getPathNameNoExtension());
+    List<String> pathNames = new ArrayList<>();
+    for (TreeItem<String> pathName : pathRoot.getChildren()) {
+      pathNames.add(pathName.getValue());
+    }
+    java.nio.file.Path project = Paths.get(directory);
+    java.nio.file.Path output = project.resolve(PathBuilder.REPORT_DIRECTORY).resolve(ParameterSweep.REPORT_FILE);
+    // Timing every combination can take a while, so the sweep runs off the FX thread like the project loader
+    Task<ParameterSweep.Result> sweep = new Task<>() {
+      @Override
+      protected ParameterSweep.Result call() throws IOException {
+        ParameterSweep.Result result = new ParameterSweep(project).run(pathNames, maxVelocities, maxAccelerations);
+        result.write(output);
+        return result;
+      }
+    };
+    sweep.setOnSucceeded(event -> {
+      TextArea table = new TextArea(sweep.getValue().toCsv());
+      table.setEditable(false);
+      Alert alert = new Alert(Alert.AlertType.INFORMATION);
+      FxUtils.applyDarkMode(alert);
+      alert.setTitle("Parameter sweep");
+      alert.setHeaderText("Total times in seconds, saved to: " + output.toAbsolutePath());
+      alert.getDialogPane().setContent(table);
+      alert.show();
+    });
+    sweep.setOnFailed(event -> LOGGER.log(Level.WARNING, "Could not write sweep to " + output, sweep.getException()));
+    Thread thread = new Thread(sweep, "Parameter sweep");
+    thread.setDaemon(true);
+    thread.start();
+  }
 
-      if(!path.getSpline().writeToFile(pathNameFile)) {
-        Alert alert = new Alert(Alert.AlertType.WARNING);
-        FxUtils.applyDarkMode(alert);
-        alert.setTitle("Path export failure!");
-        alert.setContentText("Could not export to: " + output.toAbsolutePath());
+  private static double[] parseValues(String text) {
+    String[] parts = text.split(",");
+    double[] values = new double[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      values[i] = Double.parseDouble(parts[i].trim());
+      if (!(values[i] > 0)) {
+        throw new NumberFormatException("Not a positive number: " + parts[i]);
       }
     }
-    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-    FxUtils.applyDarkMode(alert);
-    alert.setTitle("Paths exported!");
-    alert.setContentText("Paths exported to: " + output.toAbsolutePath());
-
-    alert.show();
+    return values;
   }
 
   @FXML
   private void editProject() {
+    loader.cancel();
+    index.close();
+    SaveManager.getInstance().removeSaveListener(pathSaved);
     try {
       Pane root = FXMLLoader.load(getClass().getResource("createProject.fxml"));
       Scene scene = fieldDisplay.getScene();
@@ -8,8 +8,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javafx.scene.control.TreeItem;
@@ -27,14 +34,25 @@ public final class MainIOUtil {
    * @param root      Treeitem to add all new items as children
    */
   public static void setupItemsInDirectory(String directory, TreeItem<String> root) {
+    for (String name : listItemsInDirectory(directory)) {
+      addChild(root, name);
+    }
+  }
+
+  /**
+   * Lists the names of the files in a directory, creating the directory if it does not exist.
+   *
+   * @param directory absolute location of directory
+   *
+   * @return the file names, in the order the file system lists them
+   */
+  public static List<String> listItemsInDirectory(String directory) {
     File folder = new File(directory);
     if (!folder.exists()) {
       folder.mkdir();
     }
     String[] listOfFiles = folder.list();
-    for (String name : listOfFiles) {
-      addChild(root, name);
-    }
+    return listOfFiles == null ? List.of() : List.of(listOfFiles);
   }
 
   /**
@@ -142,16 +160,34 @@ public final class MainIOUtil {
    */
   public static void loadAuton(String location, String filename, TreeItem<String> root) {
     root.getChildren().clear();
-    try(BufferedReader reader = Files.newBufferedReader(Paths.get(location, filename))) {
+    try {
+      for (String path : readAuton(location, filename)) {
+        addChild(root, path);
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not load auton file", e);
+    }
+  }
+
+  /**
+   * Reads the names of the paths in an auton file.
+   *
+   * @param location Directory of file
+   * @param filename Name of auton file
+   *
+   * @return the path file names, in order
+   * @throws IOException if the file could not be read
+   */
+  public static List<String> readAuton(String location, String filename) throws IOException {
+    List<String> paths = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(location, filename))) {
       String line = reader.readLine();
       while (line != null) {
-        addChild(root, line);
+        paths.add(line);
         line = reader.readLine();
       }
-      reader.close();
-    } catch (IOException e) {
-      LOGGER.log(Level.WARNING, "Could not load auton file", e);
     }
+    return paths;
   }
 
   /**
@@ -172,25 +208,79 @@ public final class MainIOUtil {
     }
   }
 
-  public static void copyGroupFiles(String autonDirectory, String groupDirectory) throws IOException {
+  /**
+   * Copies the files of the legacy Groups directory into the Autos directory, once per project. Each copied
+   * file is recorded in the project file with a hash of its contents, so an interrupted migration resumes
+   * without copying files again, and a finished migration never reads the Groups directory again.
+   *
+   * @param autonDirectory The directory to copy the files to
+   * @param groupDirectory The legacy directory to copy the files from
+   * @param preferences    The preferences of the project, which record the migration
+   *
+   * @throws IOException if the Groups directory could not be read
+   */
+  public static void migrateGroupFiles(String autonDirectory, String groupDirectory, ProjectPreferences preferences)
+      throws IOException {
+    ProjectPreferences.Values values = preferences.getValues();
     File folder = new File(groupDirectory + "/");
+    if (values.isGroupsMigrated() || !folder.exists()) {
+      return;
+    }
     File autonfolder = new File(autonDirectory);
-    if (folder.exists()) {
-      if (!autonfolder.exists()) {
-        autonfolder.mkdir();
+    if (!autonfolder.exists()) {
+      autonfolder.mkdir();
+    }
+    List<Path> sources;
+    try (Stream<Path> stream = Files.walk(folder.toPath(), 1)) {
+      sources = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    Map<String, String> migrated = values.getMigratedGroupFiles();
+    Map<String, String> copied = new HashMap<>();
+    boolean complete = false;
+    try {
+      boolean allCopied = true;
+      for (Path source : sources) {
+        String name = source.getFileName().toString();
+        String hash = hash(source);
+        if (hash.equals(migrated.get(name))) {
+          continue;
+        }
+        if (copy(source, Paths.get(autonDirectory + name))) {
+          copied.put(name, hash);
+        } else {
+          allCopied = false;
+        }
       }
-      try (Stream<Path> stream = Files.walk(folder.toPath(), 1)) {
-        stream.filter(Files::isRegularFile).forEach(
-                source -> copy(source, Paths.get(autonDirectory + source.getFileName())));
+      complete = allCopied;
+    } finally {
+      // One write for the whole pass, which still keeps the files copied before a failure
+      if (!copied.isEmpty() || complete) {
+        preferences.recordGroupMigration(copied, complete);
       }
     }
   }
 
-  private static void copy(Path source, Path dest) {
+  private static String hash(Path file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest(Files.readAllBytes(file))) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  private static boolean copy(Path source, Path dest) {
     try {
         Files.copy(source, dest, StandardCopyOption.REPLACE_EXISTING);
+        return true;
     } catch (IOException e) {
         LOGGER.log(Level.WARNING, "Could not copy file", e);
+        return false;
     }
   }
 }
@@ -1,7 +1,9 @@
 package edu.wpi.first.pathweaver;
 
+import edu.wpi.first.pathweaver.metrics.Metrics;
+import edu.wpi.first.pathweaver.metrics.PathIOEvent;
 import edu.wpi.first.pathweaver.path.Path;
-import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
@@ -12,14 +14,15 @@ import java.io.IOException;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javafx.geometry.Point2D;
-
 public final class PathIOUtil {
   private static final Logger LOGGER = Logger.getLogger(PathIOUtil.class.getName());
+  // Parsed path files of every project opened in this session, by absolute file name
+  private static final BoundedCache<String, PathModel> PATH_FILES = new BoundedCache<>(256);
 
   private PathIOUtil() {
   }
@@ -34,6 +37,10 @@ public final class PathIOUtil {
    * @return true if successful file write was preformed
    */
   public static boolean export(String fileLocation, Path path) {
+    long start = Metrics.start();
+    PathIOEvent event = new PathIOEvent("export");
+    event.begin();
+    PATH_FILES.remove(cacheKey(Paths.get(fileLocation + path.getPathName())));
     try (
         BufferedWriter writer = Files.newBufferedWriter(Paths.get(fileLocation + path.getPathName()));
 
@@ -52,6 +59,13 @@ public final class PathIOUtil {
     } catch (IOException except) {
       LOGGER.log(Level.WARNING, "Could not save Path file", except);
       return false;
+    } finally {
+      event.commit(path.getPathName(), path.getWaypoints().size());
+      Metrics.record(Metrics.PATH_EXPORT, start);
+    }
+    // Builds load the saved file, and reuse the splines the editor already sampled
+    if (path.getSpline() instanceof WpilibSpline) {
+      ((WpilibSpline) path.getSpline()).shareParameterizedSpline();
     }
     return true;
   }
@@ -65,34 +79,83 @@ public final class PathIOUtil {
    * @return Path object saved in Path file
    */
   public static Path importPath(String fileLocation, String fileName) {
-    try(Reader reader = Files.newBufferedReader(java.nio.file.Path.of(fileLocation, fileName));
-        CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                .withFirstRecordAsHeader()
-                .withIgnoreHeaderCase()
-                .withTrim())) {
-      ArrayList<Waypoint> waypoints = new ArrayList<>();
-      for (CSVRecord csvRecord : csvParser) {
-        Point2D position = new Point2D(
-                Double.parseDouble(csvRecord.get("X")),
-                Double.parseDouble(csvRecord.get("Y"))
-        );
-        Point2D tangent = new Point2D(
-                Double.parseDouble(csvRecord.get("Tangent X")),
-                Double.parseDouble(csvRecord.get("Tangent Y"))
-        );
-        boolean locked = Boolean.parseBoolean(csvRecord.get("Fixed Theta"));
-        boolean reversed = Boolean.parseBoolean(csvRecord.get("Reversed"));
-        Waypoint point = new Waypoint(position, tangent, locked, reversed);
-        if (csvRecord.isMapped("Name")) {
-          String name = csvRecord.get("Name");
-          point.setName(name);
-        }
-        waypoints.add(point);
-      }
-      return new WpilibPath(waypoints, fileName);
+    long start = Metrics.start();
+    PathIOEvent event = new PathIOEvent("import");
+    event.begin();
+    int waypointCount = 0;
+    try {
+      PathModel model = readModel(java.nio.file.Path.of(fileLocation, fileName));
+      waypointCount = model.getWaypointCount();
+      return model.createPath(fileName);
     } catch (IOException except) {
       LOGGER.log(Level.WARNING, "Could not read Path file", except);
       return null;
+    } finally {
+      event.commit(fileName, waypointCount);
+      Metrics.record(Metrics.PATH_IMPORT, start);
+    }
+  }
+
+  /**
+   * Reads the names of the waypoints of a path file, without creating its waypoints. The parsed file is
+   * cached the same way as by {@link #readModel(java.nio.file.Path)}.
+   *
+   * @param file the path file
+   * @return the name of each waypoint in order, or null for waypoints without a name
+   * @throws IOException if the file could not be read
+   */
+  public static List<String> readWaypointNames(java.nio.file.Path file) throws IOException {
+    return readModel(file).getWaypointNames();
+  }
+
+  /**
+   * Reads the model of a path file. Paths are parsed once per session, and the same model is returned until
+   * the file's size or modification time changes.
+   *
+   * @param file the path file
+   * @return the model of the file
+   * @throws IOException if the file could not be read
+   */
+  public static PathModel readModel(java.nio.file.Path file) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    String key = cacheKey(file);
+    PathModel model = PATH_FILES.get(key);
+    if (model == null || !model.matches(attributes)) {
+      model = parse(file, attributes);
+      PATH_FILES.put(key, model);
+    }
+    return model;
+  }
+
+  private static String cacheKey(java.nio.file.Path file) {
+    return file.toAbsolutePath().normalize().toString();
+  }
+
+  private static PathModel parse(java.nio.file.Path file, BasicFileAttributes attributes) throws IOException {
+    List<CSVRecord> records;
+    try (Reader reader = Files.newBufferedReader(file);
+         CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
+                 .withFirstRecordAsHeader()
+                 .withIgnoreHeaderCase()
+                 .withTrim())) {
+      records = csvParser.getRecords();
+    }
+    double[] values = new double[records.size() * 4];
+    boolean[] locked = new boolean[records.size()];
+    boolean[] reversed = new boolean[records.size()];
+    String[] names = new String[records.size()];
+    for (int i = 0; i < records.size(); i++) {
+      CSVRecord csvRecord = records.get(i);
+      values[i * 4] = Double.parseDouble(csvRecord.get("X"));
+      values[i * 4 + 1] = Double.parseDouble(csvRecord.get("Y"));
+      values[i * 4 + 2] = Double.parseDouble(csvRecord.get("Tangent X"));
+      values[i * 4 + 3] = Double.parseDouble(csvRecord.get("Tangent Y"));
+      locked[i] = Boolean.parseBoolean(csvRecord.get("Fixed Theta"));
+      reversed[i] = Boolean.parseBoolean(csvRecord.get("Reversed"));
+      if (csvRecord.isMapped("Name")) {
+        names[i] = csvRecord.get("Name");
+      }
     }
+    return new PathModel(attributes, values, locked, reversed, names);
   }
 }
@@ -0,0 +1,97 @@
+package edu.wpi.first.pathweaver;
+
+import java.io.File;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import javafx.geometry.Point2D;
+
+/**
+ * The contents of a path file as it was read. A model never changes, so one model can be shared by every
+ * auton and project that shows the file. Waypoints are editable scene graph objects, so each view of the path
+ * is a new {@link Path} created from the model.
+ */
+public final class PathModel {
+  private final FileTime lastModified;
+  private final long size;
+  private final double[] values;
+  private final boolean[] locked;
+  private final boolean[] reversed;
+  private final String[] names;
+
+  /**
+   * Creates the model of a path file.
+   *
+   * @param attributes the attributes of the file when it was read
+   * @param values     the x, y, tangent x and tangent y of each waypoint in turn
+   * @param locked     whether the tangent of each waypoint is locked
+   * @param reversed   whether each waypoint is driven in reverse
+   * @param names      the name of each waypoint, or null for waypoints without a name
+   */
+  PathModel(BasicFileAttributes attributes, double[] values, boolean[] locked, boolean[] reversed, String[] names) {
+    this.lastModified = attributes.lastModifiedTime();
+    this.size = attributes.size();
+    this.values = values;
+    this.locked = locked;
+    this.reversed = reversed;
+    this.names = names;
+  }
+
+  /**
+   * Checks whether the file has the same modification time and size as when the model was read.
+   *
+   * @param attributes the current attributes of the file
+   * @return true if the model still describes the file
+   */
+  public boolean matches(BasicFileAttributes attributes) {
+    return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+  }
+
+  /**
+   * Checks whether the file has the same modification time and size as when the model was read.
+   *
+   * @param file the path file
+   * @return true if the model still describes the file
+   */
+  public boolean matches(File file) {
+    return lastModified.toMillis() == file.lastModified() && size == file.length();
+  }
+
+  public int getWaypointCount() {
+    return locked.length;
+  }
+
+  /**
+   * Gets the names of the waypoints.
+   *
+   * @return the name of each waypoint in order, or null for waypoints without a name
+   */
+  public List<String> getWaypointNames() {
+    return Arrays.asList(names.clone());
+  }
+
+  /**
+   * Creates a new view of the path, with its own waypoints. Views share the splines sampled for the model's
+   * waypoints, so creating one only costs its scene graph nodes.
+   *
+   * @param fileName the file name of the path
+   * @return the new path
+   */
+  public Path createPath(String fileName) {
+    List<Waypoint> waypoints = new ArrayList<>(locked.length);
+    for (int i = 0; i < locked.length; i++) {
+      Waypoint point = new Waypoint(new Point2D(values[i * 4], values[i * 4 + 1]),
+          new Point2D(values[i * 4 + 2], values[i * 4 + 3]), locked[i], reversed[i]);
+      if (names[i] != null) {
+        point.setName(names[i]);
+      }
+      waypoints.add(point);
+    }
+    return new WpilibPath(waypoints, fileName);
+  }
+}
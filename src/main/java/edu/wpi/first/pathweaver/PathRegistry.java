@@ -0,0 +1,131 @@
+package edu.wpi.first.pathweaver;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.wpi.first.pathweaver.path.Path;
+
+/**
+ * The paths of a project that have been loaded, so that every auton that drives a path shares the same
+ * immutable {@link PathModel} of it instead of reading its file again. Each auton shows its own view of the
+ * model, so the views are the only per-auton cost. A model is replaced only when its file changes, and
+ * models are only softly reachable, so they may be dropped when memory runs low.
+ *
+ * <p>Edits are made to a view, so a view with edits that are waiting to be saved is shown again in place of
+ * a new view of its file, until the edits are saved or discarded. Must be used on the JavaFX application
+ * thread.
+ */
+public class PathRegistry {
+  private static final Logger LOGGER = Logger.getLogger(PathRegistry.class.getName());
+
+  private final Map<String, ModelReference> models = new HashMap<>();
+  private final ReferenceQueue<PathModel> collected = new ReferenceQueue<>();
+  // The view of each file shown last, kept in case it has edits waiting to be saved
+  private final Map<String, Path> views = new HashMap<>();
+
+  /**
+   * Gets a view of a path file. The view with the edits waiting to be saved is returned if there is one,
+   * otherwise a new view is created from the model of the file.
+   *
+   * @param file        the path file
+   * @param viewFactory creates a view from the model of the file, which is null if the file could not be
+   *                    read; returns null if there can be no view
+   * @return the view, or null if there is none
+   */
+  public Path get(File file, Function<PathModel, Path> viewFactory) {
+    String key = file.getAbsolutePath();
+    Path view = views.get(key);
+    if (view != null && SaveManager.getInstance().hasChanges(view)) {
+      return view;
+    }
+    view = viewFactory.apply(getModel(file));
+    if (view == null) {
+      views.remove(key);
+    } else {
+      views.put(key, view);
+    }
+    return view;
+  }
+
+  /**
+   * Gets the model of a path file, reading it if there is no model of the file's current contents.
+   *
+   * @param file the path file
+   * @return the model, or null if the file could not be read
+   */
+  public PathModel getModel(File file) {
+    purgeCollected();
+    String key = file.getAbsolutePath();
+    ModelReference reference = models.get(key);
+    PathModel model = reference == null ? null : reference.get();
+    if (model != null && model.matches(file)) {
+      return model;
+    }
+    models.remove(key);
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      model = PathIOUtil.readModel(file.toPath());
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not read Path file", e);
+      return null;
+    }
+    models.put(key, new ModelReference(key, model, collected));
+    return model;
+  }
+
+  /**
+   * Records that a view was saved to its file, so the next view of the file is created from what was saved.
+   *
+   * @param path the saved view
+   */
+  public void saved(Path path) {
+    for (Map.Entry<String, Path> entry : views.entrySet()) {
+      if (entry.getValue() == path) {
+        models.remove(entry.getKey());
+      }
+    }
+  }
+
+  public void clear() {
+    models.clear();
+    views.clear();
+  }
+
+  public int size() {
+    purgeCollected();
+    return models.size();
+  }
+
+  /**
+   * Removes the entries of models that were dropped to free memory.
+   */
+  private void purgeCollected() {
+    for (Reference<? extends PathModel> reference = collected.poll(); reference != null;
+         reference = collected.poll()) {
+      String key = ((ModelReference) reference).key;
+      // The file may have been read again since
+      if (models.get(key) == reference) {
+        models.remove(key);
+      }
+    }
+  }
+
+  private static final class ModelReference extends SoftReference<PathModel> {
+    private final String key;
+
+    private ModelReference(String key, PathModel model, ReferenceQueue<PathModel> queue) {
+      super(model, queue);
+      this.key = key;
+    }
+  }
+}
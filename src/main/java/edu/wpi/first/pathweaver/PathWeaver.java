@@ -23,6 +23,7 @@ public class PathWeaver extends Application {
                                         "wpimathjni");
 
     ExtensionManager.getInstance().refresh();
+    ProjectPreferences.setWarningHandler(FxUtils::showPreferencesWarning);
     Pane root = FXMLLoader.load(getClass().getResource("welcomeScreen.fxml"));
     this.mainScene = new Scene(root);
     primaryStage.setTitle("PathWeaver - " + getVersion());
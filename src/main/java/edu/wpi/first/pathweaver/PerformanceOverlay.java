@@ -0,0 +1,143 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.Locale;
+import java.util.Map;
+
+import edu.wpi.first.pathweaver.metrics.Metrics;
+import edu.wpi.first.pathweaver.metrics.Timing;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.shape.Polyline;
+
+/**
+ * A diagnostic overlay for the field display. Once a second it shows frame times, the CSS and layout
+ * time of each pulse, the timings reported to {@link Metrics}, the size of the drawn paths and the heap usage.
+ * The overlay only does work while it is visible.
+ */
+public class PerformanceOverlay extends Label {
+  private static final long UPDATE_PERIOD_NANOS = 1_000_000_000L;
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final Parent pathGroup;
+  private final Runnable preLayout = this::preLayout;
+  private final Runnable postLayout = this::postLayout;
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      frame(now);
+    }
+  };
+
+  private Scene scene;
+  private long lastFrame;
+  private long periodStart;
+  private long frames;
+  private long maxFrameNanos;
+  private long layoutStart;
+  private long layoutNanos;
+
+  /**
+   * Creates a hidden overlay that describes the given group of paths.
+   *
+   * @param pathGroup the group holding the displayed paths
+   */
+  public PerformanceOverlay(Parent pathGroup) {
+    super();
+    this.pathGroup = pathGroup;
+    getStyleClass().add("performance-overlay");
+    setMouseTransparent(true);
+    setVisible(false);
+  }
+
+  /**
+   * Shows or hides the overlay, starting or stopping its measurements.
+   */
+  public void toggle() {
+    if (isVisible()) {
+      timer.stop();
+      scene.removePreLayoutPulseListener(preLayout);
+      scene.removePostLayoutPulseListener(postLayout);
+      setVisible(false);
+    } else {
+      scene = getScene();
+      scene.addPreLayoutPulseListener(preLayout);
+      scene.addPostLayoutPulseListener(postLayout);
+      Metrics.drain();
+      lastFrame = 0;
+      periodStart = 0;
+      resetPeriod();
+      setText("Measuring...");
+      setVisible(true);
+      timer.start();
+    }
+  }
+
+  private void preLayout() {
+    layoutStart = System.nanoTime();
+  }
+
+  private void postLayout() {
+    layoutNanos += System.nanoTime() - layoutStart;
+  }
+
+  private void frame(long now) {
+    if (lastFrame != 0) {
+      frames++;
+      maxFrameNanos = Math.max(maxFrameNanos, now - lastFrame);
+    } else {
+      periodStart = now;
+    }
+    lastFrame = now;
+    if (now - periodStart >= UPDATE_PERIOD_NANOS) {
+      setText(describe((now - periodStart) / (double) UPDATE_PERIOD_NANOS));
+      periodStart = now;
+      resetPeriod();
+    }
+  }
+
+  private void resetPeriod() {
+    frames = 0;
+    maxFrameNanos = 0;
+    layoutNanos = 0;
+  }
+
+  private String describe(double seconds) {
+    StringBuilder text = new StringBuilder(256);
+    double frameMillis = seconds * 1000 / Math.max(frames, 1);
+    text.append(String.format(Locale.ROOT, "Frame: %.1f ms avg, %.1f ms max (%.0f fps)%n",
+        frameMillis, maxFrameNanos / NANOS_PER_MILLI, frames / seconds))
+        .append(String.format(Locale.ROOT, "CSS + layout: %.2f ms avg%n",
+            layoutNanos / NANOS_PER_MILLI / Math.max(frames, 1)));
+
+    for (Map.Entry<String, Timing> entry : Metrics.drain().entrySet()) {
+      Timing timing = entry.getValue();
+      text.append(String.format(Locale.ROOT, "%s: %.0f/s, %.2f ms avg, %.2f ms max%n", entry.getKey(),
+          timing.getCount() / seconds, timing.getAverageMillis(), timing.getMaxMillis()));
+    }
+
+    int[] counts = new int[2];
+    countNodes(pathGroup, counts);
+    text.append(String.format(Locale.ROOT, "Path nodes: %d, polyline vertices: %d%n", counts[0], counts[1]));
+
+    Runtime runtime = Runtime.getRuntime();
+    long used = runtime.totalMemory() - runtime.freeMemory();
+    text.append(String.format(Locale.ROOT, "Heap: %d / %d MB",
+        used / BYTES_PER_MEGABYTE, runtime.maxMemory() / BYTES_PER_MEGABYTE));
+    return text.toString();
+  }
+
+  private static void countNodes(Parent parent, int[] counts) {
+    for (Node node : parent.getChildrenUnmodifiable()) {
+      counts[0]++;
+      if (node instanceof Polyline) {
+        counts[1] += ((Polyline) node).getPoints().size() / 2;
+      } else if (node instanceof Parent) {
+        countNodes((Parent) node, counts);
+      }
+    }
+  }
+}
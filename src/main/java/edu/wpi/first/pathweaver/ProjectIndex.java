@@ -0,0 +1,334 @@
+package edu.wpi.first.pathweaver;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An index of the waypoint names, paths and autons of a project, so they can be found without opening every
+ * path. The index is built on a background thread and then kept current by watching the project's Paths and
+ * Autos directories, re-reading only the files that changed. Searches may be run from any thread.
+ */
+public class ProjectIndex {
+  private static final Logger LOGGER = Logger.getLogger(ProjectIndex.class.getName());
+
+  private final Path pathDirectory;
+  private final Path autonDirectory;
+  // Replaced as a whole on every change, so searches never see it half updated
+  private volatile Contents contents = new Contents(Map.of(), Map.of());
+  private WatchService watcher;
+
+  /**
+   * Creates an empty index for a project.
+   *
+   * @param directory the project directory
+   */
+  public ProjectIndex(String directory) {
+    this.pathDirectory = Paths.get(directory, "Paths");
+    this.autonDirectory = Paths.get(directory, "Autos");
+  }
+
+  /**
+   * Builds the index and starts watching the project on a daemon thread.
+   */
+  public void start() {
+    try {
+      watcher = FileSystems.getDefault().newWatchService();
+      for (Path dir : List.of(pathDirectory, autonDirectory)) {
+        Files.createDirectories(dir);
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not watch the project for changes", e);
+    }
+    Thread thread = new Thread(this::run, "Project index");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stops watching the project. The index keeps its last contents.
+   */
+  public void close() {
+    if (watcher != null) {
+      try {
+        watcher.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Could not stop watching the project", e);
+      }
+    }
+  }
+
+  private void run() {
+    indexAll();
+    if (watcher == null) {
+      return;
+    }
+    try {
+      while (true) {
+        WatchKey key = watcher.take();
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            indexAll();
+          } else if (dir.equals(pathDirectory)) {
+            indexPath(event.context().toString());
+          } else {
+            indexAuton(event.context().toString());
+          }
+        }
+        key.reset();
+      }
+    } catch (ClosedWatchServiceException e) {
+      LOGGER.log(Level.FINE, "Stopped watching the project", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads every path and auton of the project into the index.
+   */
+  synchronized void indexAll() {
+    Map<String, PathEntry> paths = new HashMap<>();
+    for (String fileName : MainIOUtil.listItemsInDirectory(pathDirectory.toString())) {
+      indexPath(paths, fileName);
+    }
+    Map<String, List<String>> autonPaths = new HashMap<>();
+    for (String autonName : MainIOUtil.listItemsInDirectory(autonDirectory.toString())) {
+      indexAuton(autonPaths, autonName);
+    }
+    contents = new Contents(paths, autonPaths);
+  }
+
+  /**
+   * Reads one path into the index again, or removes it if its file no longer exists.
+   *
+   * @param fileName the file name of the path
+   */
+  synchronized void indexPath(String fileName) {
+    Map<String, PathEntry> paths = new HashMap<>(contents.paths);
+    indexPath(paths, fileName);
+    contents = new Contents(paths, contents.autonPaths);
+  }
+
+  private void indexPath(Map<String, PathEntry> into, String fileName) {
+    Path file = pathDirectory.resolve(fileName);
+    if (!Files.isRegularFile(file)) {
+      into.remove(fileName);
+      return;
+    }
+    try {
+      into.put(fileName, new PathEntry(PathIOUtil.readWaypointNames(file)));
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      // A file that is still being written is read again on its next change
+      LOGGER.log(Level.FINE, "Could not index path " + fileName, e);
+    }
+  }
+
+  /**
+   * Reads one auton into the index again, or removes it if its file no longer exists.
+   *
+   * @param autonName the file name of the auton
+   */
+  synchronized void indexAuton(String autonName) {
+    Map<String, List<String>> autonPaths = new HashMap<>(contents.autonPaths);
+    indexAuton(autonPaths, autonName);
+    contents = new Contents(contents.paths, autonPaths);
+  }
+
+  private void indexAuton(Map<String, List<String>> into, String autonName) {
+    if (!Files.isRegularFile(autonDirectory.resolve(autonName))) {
+      into.remove(autonName);
+      return;
+    }
+    try {
+      into.put(autonName, List.copyOf(MainIOUtil.readAuton(autonDirectory.toString(), autonName)));
+    } catch (IOException e) {
+      LOGGER.log(Level.FINE, "Could not index auton " + autonName, e);
+    }
+  }
+
+  /**
+   * Finds the autons, paths and named waypoints whose names contain some text, ignoring case. Autons come
+   * first, then paths, then waypoints, each sorted by name.
+   *
+   * @param query the text to look for
+   * @param limit the largest number of matches to return
+   * @return the matches
+   */
+  public List<Match> search(String query, int limit) {
+    String text = query.trim().toLowerCase(Locale.ROOT);
+    List<Match> matches = new ArrayList<>();
+    if (text.isEmpty()) {
+      return matches;
+    }
+    Contents current = contents;
+    for (String autonName : current.autonPaths.keySet()) {
+      if (matches.size() < limit && autonName.toLowerCase(Locale.ROOT).contains(text)) {
+        matches.add(new Match(Kind.AUTON, autonName, null, -1, List.of()));
+      }
+    }
+    for (String fileName : current.paths.keySet()) {
+      if (matches.size() < limit && fileName.toLowerCase(Locale.ROOT).contains(text)) {
+        matches.add(new Match(Kind.PATH, fileName, fileName, -1, current.getAutonsUsing(fileName)));
+      }
+    }
+    for (Map.Entry<String, PathEntry> entry : current.paths.entrySet()) {
+      PathEntry path = entry.getValue();
+      for (int i = 0; i < path.lowerCaseNames.size() && matches.size() < limit; i++) {
+        if (path.lowerCaseNames.get(i) != null && path.lowerCaseNames.get(i).contains(text)) {
+          matches.add(new Match(Kind.WAYPOINT, path.names.get(i), entry.getKey(), i,
+              current.getAutonsUsing(entry.getKey())));
+        }
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Gets the autons that drive a path.
+   *
+   * @param fileName the file name of the path
+   * @return the names of the autons, sorted
+   */
+  public List<String> getAutonsUsing(String fileName) {
+    return contents.getAutonsUsing(fileName);
+  }
+
+  /**
+   * The paths and autons read from the project, sorted by name. Contents never change; a changed file
+   * replaces the whole contents, so the sorted views and the autons that drive each path are only worked out
+   * once per change rather than on every search.
+   */
+  private static final class Contents {
+    private final SortedMap<String, PathEntry> paths;
+    private final SortedMap<String, List<String>> autonPaths;
+    private final Map<String, List<String>> autonsByPath;
+
+    private Contents(Map<String, PathEntry> paths, Map<String, List<String>> autonPaths) {
+      this.paths = Collections.unmodifiableSortedMap(new TreeMap<>(paths));
+      this.autonPaths = Collections.unmodifiableSortedMap(new TreeMap<>(autonPaths));
+      Map<String, List<String>> users = new HashMap<>();
+      for (Map.Entry<String, List<String>> entry : this.autonPaths.entrySet()) {
+        for (String fileName : entry.getValue()) {
+          List<String> autons = users.computeIfAbsent(fileName, key -> new ArrayList<>());
+          // Autons are visited in order, so a repeated path only needs to be checked against the last one
+          if (autons.isEmpty() || !autons.get(autons.size() - 1).equals(entry.getKey())) {
+            autons.add(entry.getKey());
+          }
+        }
+      }
+      users.replaceAll((fileName, autons) -> Collections.unmodifiableList(autons));
+      this.autonsByPath = users;
+    }
+
+    private List<String> getAutonsUsing(String fileName) {
+      return autonsByPath.getOrDefault(fileName, List.of());
+    }
+  }
+
+  /**
+   * The waypoint names of one path file, as written and in lower case for searching. Waypoints without a
+   * name have a null lower case name.
+   */
+  private static final class PathEntry {
+    private final List<String> names;
+    private final List<String> lowerCaseNames;
+
+    private PathEntry(List<String> names) {
+      List<String> lowerCase = new ArrayList<>(names.size());
+      for (String name : names) {
+        lowerCase.add(name == null || name.isEmpty() ? null : name.toLowerCase(Locale.ROOT));
+      }
+      this.names = Collections.unmodifiableList(new ArrayList<>(names));
+      this.lowerCaseNames = Collections.unmodifiableList(lowerCase);
+    }
+  }
+
+  /**
+   * The kind of item a search matched.
+   */
+  public enum Kind {
+    AUTON, PATH, WAYPOINT
+  }
+
+  /**
+   * An item of the project that matched a search.
+   */
+  public static final class Match {
+    private final Kind kind;
+    private final String name;
+    private final String pathName;
+    private final int waypointIndex;
+    private final List<String> autons;
+
+    private Match(Kind kind, String name, String pathName, int waypointIndex, List<String> autons) {
+      this.kind = kind;
+      this.name = name;
+      this.pathName = pathName;
+      this.waypointIndex = waypointIndex;
+      this.autons = autons;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the file name of the path that matched or holds the waypoint that matched.
+     *
+     * @return the file name, or null for autons
+     */
+    public String getPathName() {
+      return pathName;
+    }
+
+    /**
+     * Gets the position of the waypoint that matched in its path.
+     *
+     * @return the index of the waypoint, or -1 for autons and paths
+     */
+    public int getWaypointIndex() {
+      return waypointIndex;
+    }
+
+    public List<String> getAutons() {
+      return autons;
+    }
+
+    @Override
+    public String toString() {
+      switch (kind) {
+        case AUTON:
+          return name + " (auton)";
+        case PATH:
+          return autons.isEmpty() ? name : name + " (in " + String.join(", ", autons) + ")";
+        default:
+          return name + " in " + pathName;
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package edu.wpi.first.pathweaver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.wpi.first.pathweaver.path.Path;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.scene.control.TreeItem;
+
+/**
+ * Opens a project in stages on a background thread, so the main screen appears before the project is read.
+ * The path and auton trees are filled in first, then the paths of each auton, and finally the most likely
+ * paths are parsed ahead of time so that selecting them does not have to read them from disk.
+ */
+public class ProjectLoader extends Task<Void> {
+  private static final Logger LOGGER = Logger.getLogger(ProjectLoader.class.getName());
+  private static final int PREFETCH_LIMIT = 32;
+
+  private final String pathDirectory;
+  private final String autonDirectory;
+  private final String groupDirectory;
+  private final TreeItem<String> pathRoot;
+  private final TreeItem<String> autonRoot;
+  private final Map<String, Prefetched> prefetched = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a loader that fills in the given trees.
+   *
+   * @param directory the project directory
+   * @param pathRoot  the root of the path tree
+   * @param autonRoot the root of the auton tree
+   */
+  public ProjectLoader(String directory, TreeItem<String> pathRoot, TreeItem<String> autonRoot) {
+    super();
+    this.pathDirectory = directory + "/Paths/";
+    this.autonDirectory = directory + "/Autos/";
+    this.groupDirectory = directory + "/Groups/"; // Legacy dir for backwards compatibility
+    this.pathRoot = pathRoot;
+    this.autonRoot = autonRoot;
+  }
+
+  /**
+   * Starts loading on a daemon thread.
+   */
+  public void start() {
+    Thread thread = new Thread(this, "Project loader");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  protected Void call() {
+    updateMessage("Reading project...");
+    // Copying files from the old directory name to the new one to maintain backwards compatibility
+    try {
+      MainIOUtil.migrateGroupFiles(autonDirectory, groupDirectory, ProjectPreferences.getInstance());
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not copy legacy group files", e);
+    }
+    List<String> pathNames = MainIOUtil.listItemsInDirectory(pathDirectory);
+    List<String> autonNames = MainIOUtil.listItemsInDirectory(autonDirectory);
+    Platform.runLater(() -> {
+      addMissing(pathRoot, pathNames);
+      addMissing(autonRoot, autonNames);
+    });
+
+    Set<String> prefetchOrder = new LinkedHashSet<>();
+    int prefetchCount = Math.min(PREFETCH_LIMIT, pathNames.size());
+    int total = autonNames.size() + prefetchCount;
+    for (int i = 0; i < autonNames.size() && !isCancelled(); i++) {
+      String autonName = autonNames.get(i);
+      updateMessage("Reading " + autonName);
+      try {
+        List<String> autonPaths = MainIOUtil.readAuton(autonDirectory, autonName);
+        prefetchOrder.addAll(autonPaths);
+        Platform.runLater(() -> showAuton(autonName, autonPaths));
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Could not load auton file", e);
+      }
+      updateProgress(i + 1, total);
+    }
+
+    // Paths used by autons are the most likely to be opened, then the rest in tree order
+    prefetchOrder.retainAll(pathNames);
+    prefetchOrder.addAll(pathNames);
+    List<String> toPrefetch = new ArrayList<>(prefetchOrder).subList(0, prefetchCount);
+    for (int i = 0; i < toPrefetch.size() && !isCancelled(); i++) {
+      String pathName = toPrefetch.get(i);
+      updateMessage("Preparing " + pathName);
+      File file = new File(pathDirectory, pathName);
+      long lastModified = file.lastModified();
+      Path path = PathIOUtil.importPath(pathDirectory, pathName);
+      if (path != null) {
+        prefetched.put(pathName, new Prefetched(path, lastModified));
+      }
+      updateProgress(autonNames.size() + i + 1, total);
+    }
+    updateMessage("");
+    return null;
+  }
+
+  /**
+   * Hands out a path parsed ahead of time. Each prefetched path is only handed out once, since the caller
+   * may edit it, and a path whose file changed after it was parsed is discarded.
+   *
+   * @param fileName the file name of the path
+   * @return the path, or null if it has to be read from disk
+   */
+  public Path takePath(String fileName) {
+    Prefetched entry = prefetched.remove(fileName);
+    if (entry == null || entry.lastModified != new File(pathDirectory, fileName).lastModified()) {
+      return null;
+    }
+    return entry.path;
+  }
+
+  private static void addMissing(TreeItem<String> root, List<String> names) {
+    // Items created while the project was being listed are already in the tree
+    for (String name : names) {
+      if (root.getChildren().stream().noneMatch(item -> name.equals(item.getValue()))) {
+        MainIOUtil.addChild(root, name);
+      }
+    }
+  }
+
+  private void showAuton(String autonName, List<String> autonPaths) {
+    for (TreeItem<String> item : autonRoot.getChildren()) {
+      // An auton that was edited before its file was read keeps its edits
+      if (autonName.equals(item.getValue()) && item.getChildren().isEmpty()) {
+        for (String pathName : autonPaths) {
+          MainIOUtil.addChild(item, pathName);
+        }
+      }
+    }
+  }
+
+  private static final class Prefetched {
+    private final Path path;
+    private final long lastModified;
+
+    private Prefetched(Path path, long lastModified) {
+      this.path = path;
+      this.lastModified = lastModified;
+    }
+  }
+}
@@ -4,9 +4,8 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
 import com.google.gson.annotations.SerializedName;
-import javafx.scene.control.Alert;
-import javafx.scene.layout.Region;
-import javafx.stage.Stage;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
@@ -14,6 +13,8 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,16 +51,43 @@ public class ProjectPreferences {
 		}
 	}
 
-	private static final String FILE_NAME = "pathweaver.json";
+	/**
+	 * Tells the user about a problem found while reading a project's preferences file.
+	 */
+	@FunctionalInterface
+	public interface WarningHandler {
+		void warn(Level level, String title, String message);
+	}
+
+	public static final String FILE_NAME = "pathweaver.json";
+	private static final Logger LOGGER = Logger.getLogger(ProjectPreferences.class.getName());
+	private static final int OPEN_PROJECT_LIMIT = 4;
 
 	private static ProjectPreferences instance;
+	// Recently opened projects, so switching back to one does not read its preferences again
+	private static final Map<String, ProjectPreferences> OPEN_PROJECTS = new LinkedHashMap<>(8, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ProjectPreferences> eldest) {
+			return size() > OPEN_PROJECT_LIMIT;
+		}
+	};
+
+	// Logs by default so headless builds never open a window; the GUI replaces this with dialogs
+	private static volatile WarningHandler warningHandler = (level, title, message) ->
+			LOGGER.log(level, title + ": " + message);
 
 	private final String directory;
 
 	private Values values;
+	private long fileModified;
+	// Lets views follow edits to the project without polling
+	private final ReadOnlyObjectWrapper<Values> valuesProperty = new ReadOnlyObjectWrapper<>(this, "values");
 
 	private ProjectPreferences(String directory) {
 		this.directory = directory;
+		this.fileModified = getFile().lastModified();
 		try (BufferedReader reader = Files.newBufferedReader(Paths.get(directory, FILE_NAME))) {
 			Gson gson = new Gson();
 			values = gson.fromJson(reader, Values.class);
@@ -74,32 +102,29 @@ public class ProjectPreferences {
 			if(values.exportUnit == null) {
 				values.exportUnit = "Same as Project";
 
-				Alert alert = new Alert(Alert.AlertType.WARNING);
-				FxUtils.applyDarkMode(alert);
-				alert.setTitle("Export Units Warning");
-				alert.setContentText(
+				warningHandler.warn(Level.WARNING, "Export Units Warning",
 						"Your project was imported from an older version of PathWeaver, where the exported units were always in the specified units. " +
 								"This causes issues with WPILib trajectory following. Please click on Edit Project and choose an appropriate `Export Unit` setting. " +
 								"It has been defaulted to `Same as Project` for backwards compatibility.");
-				((Stage) alert.getDialogPane().getScene().getWindow()).setAlwaysOnTop(true);
-				alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
-
-				alert.show();
 			}
 		} catch (JsonParseException e) {
-			Alert alert = new Alert(Alert.AlertType.ERROR);
-			FxUtils.applyDarkMode(alert);
-			alert.setTitle("Preferences import error");
-			alert.setContentText(
+			warningHandler.warn(Level.SEVERE, "Preferences import error",
 					"Preferences have been reset due to file corruption. You may have to reconfigure your project.");
-			((Stage) alert.getDialogPane().getScene().getWindow()).setAlwaysOnTop(true);
-			alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
-
-			alert.show();
 			setDefaults();
 		} catch (IOException e) {
 			setDefaults();
 		}
+		valuesProperty.set(values);
+	}
+
+	/**
+	 * Sets how problems found while reading a preferences file are shown to the user.
+	 *
+	 * @param handler
+	 *            the handler to use for every project opened afterwards
+	 */
+	public static void setWarningHandler(WarningHandler handler) {
+		warningHandler = handler;
 	}
 
 	private void setDefaults() {
@@ -107,7 +132,7 @@ public class ProjectPreferences {
 		updateValues();
 	}
 
-	private void updateValues() {
+	private synchronized void updateValues() {
 		Gson gson = new GsonBuilder().setPrettyPrinting().create();
 		try {
 			Files.createDirectories(Paths.get(directory));
@@ -115,6 +140,7 @@ public class ProjectPreferences {
 			try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(directory, FILE_NAME))) {
 				gson.toJson(values, writer);
 			}
+			fileModified = getFile().lastModified();
 		} catch (IOException e) {
 			Logger log = Logger.getLogger(getClass().getName());
 			log.log(Level.WARNING, "Couldn't update Project Preferences", e);
@@ -128,17 +154,51 @@ public class ProjectPreferences {
 	 *            Values to set for preferences.
 	 */
 	public void setValues(Values values) {
+		if (this.values != null) {
+			values.keepFileOnlySettings(this.values);
+		}
 		this.values = values;
 		updateValues();
+		valuesProperty.set(values);
+	}
+
+	/**
+	 * Writes the current values to the project file, after changing settings that are kept in the
+	 * {@link Values} object itself.
+	 */
+	public void saveValues() {
+		updateValues();
+	}
+
+	/**
+	 * Records legacy Groups files copied to Autos and writes the project file once, under the same lock as
+	 * every other write so the record is never serialized while it changes.
+	 *
+	 * @param copied
+	 *            the SHA-256 of each file copied, by file name
+	 * @param complete
+	 *            whether every Groups file has now been copied
+	 */
+	public synchronized void recordGroupMigration(Map<String, String> copied, boolean complete) {
+		values.putMigratedGroupFiles(copied);
+		if (complete) {
+			values.setGroupsMigrated(true);
+		}
+		updateValues();
 	}
 
 	public String getDirectory() {
 		return directory;
 	}
 
+	private File getFile() {
+		return new File(directory, FILE_NAME);
+	}
+
 	/**
 	 * Return the singleton instance of ProjectPreferences for a given project
-	 * directory.
+	 * directory. The preferences of the last few projects are kept for the session,
+	 * so switching back to a project reuses them unless its file was changed.
 	 *
 	 * @param folder
 	 *            Path to project folder.
@@ -147,7 +207,12 @@ public class ProjectPreferences {
 	@SuppressWarnings("PMD.NonThreadSafeSingleton")
 	public static ProjectPreferences getInstance(String folder) {
 		if (instance == null || !instance.directory.equals(folder)) {
-			instance = new ProjectPreferences(folder);
+			ProjectPreferences open = OPEN_PROJECTS.get(folder);
+			if (open == null || open.fileModified != open.getFile().lastModified()) {
+				open = new ProjectPreferences(folder);
+				OPEN_PROJECTS.put(folder, open);
+			}
+			instance = open;
 		}
 		return instance;
 	}
@@ -229,6 +294,16 @@ public class ProjectPreferences {
 		return new File(directory, "build.gradle").exists();
 	}
 
+	/**
+	 * The current values, which change when the project is edited. Values must only be set on the JavaFX
+	 * application thread once listeners are added.
+	 *
+	 * @return the property of the values set for the project
+	 */
+	public ReadOnlyObjectProperty<Values> valuesProperty() {
+		return valuesProperty.getReadOnlyProperty();
+	}
+
 	public Values getValues() {
 		return values;
 	}
@@ -244,6 +319,14 @@ public class ProjectPreferences {
 		private final double trackWidth;
 		private String gameName;
 		private final String outputDir;
+		// Optional analysis limits, only set by editing the project file
+		private Double maxCurvature;
+		private Double maxLateralAcceleration;
+		// Optional build setting, only set by editing the project file
+		private String allianceMirror;
+		// Legacy Groups files copied to Autos, with the SHA-256 of the copied contents
+		private Map<String, String> migratedGroupFiles;
+		private Boolean groupsMigrated;
 
 		/**
 		 * Constructor for Values of ProjectPreferences.
@@ -293,6 +376,80 @@ public class ProjectPreferences {
 			return trackWidth;
 		}
 
+		/**
+		 * Gets the tightest curvature the robot should drive, in radians per length unit. Defaults to turning
+		 * about one wheel, the curvature at which the inner wheels would have to stop.
+		 *
+		 * @return the maximum curvature
+		 */
+		public double getMaxCurvature() {
+			return maxCurvature == null ? 2 / trackWidth : maxCurvature;
+		}
+
+		/**
+		 * Gets the largest sideways acceleration the robot should experience while turning. Defaults to the
+		 * maximum acceleration.
+		 *
+		 * @return the maximum lateral acceleration, in length units per second squared
+		 */
+		public double getMaxLateralAcceleration() {
+			return maxLateralAcceleration == null ? maxAcceleration : maxLateralAcceleration;
+		}
+
+		/**
+		 * Gets how trajectories are mirrored for the other alliance when building, either "reflect" for fields
+		 * whose halves are reflections of each other or "rotate" for fields whose halves are turned half way
+		 * around. Mirrored trajectories are only built when this is set.
+		 *
+		 * @return the alliance mirror, or null to only build the paths as drawn
+		 */
+		public String getAllianceMirror() {
+			return allianceMirror;
+		}
+
+		private void keepFileOnlySettings(Values previous) {
+			if (maxCurvature == null) {
+				maxCurvature = previous.maxCurvature;
+			}
+			if (maxLateralAcceleration == null) {
+				maxLateralAcceleration = previous.maxLateralAcceleration;
+			}
+			if (allianceMirror == null) {
+				allianceMirror = previous.allianceMirror;
+			}
+			if (migratedGroupFiles == null) {
+				migratedGroupFiles = previous.migratedGroupFiles;
+			}
+			if (groupsMigrated == null) {
+				groupsMigrated = previous.groupsMigrated;
+			}
+		}
+
+		/**
+		 * Gets the legacy Groups files that were already copied to Autos. Entries are recorded after each
+		 * copy pass, so an interrupted migration can resume where it stopped.
+		 *
+		 * @return a copy of the SHA-256 of each copied file, by file name
+		 */
+		public Map<String, String> getMigratedGroupFiles() {
+			return migratedGroupFiles == null ? Map.of() : Map.copyOf(migratedGroupFiles);
+		}
+
+		private void putMigratedGroupFiles(Map<String, String> copied) {
+			if (migratedGroupFiles == null) {
+				migratedGroupFiles = new HashMap<>();
+			}
+			migratedGroupFiles.putAll(copied);
+		}
+
+		public boolean isGroupsMigrated() {
+			return groupsMigrated != null && groupsMigrated;
+		}
+
+		public void setGroupsMigrated(boolean groupsMigrated) {
+			this.groupsMigrated = groupsMigrated;
+		}
+
 		public String getGameName() {
 			return gameName;
 		}
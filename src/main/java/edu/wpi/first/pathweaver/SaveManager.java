@@ -1,8 +1,11 @@
 package edu.wpi.first.pathweaver;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import edu.wpi.first.pathweaver.path.Path;
 import javafx.scene.control.Alert;
@@ -12,6 +15,7 @@ public final class SaveManager {
   private static final SaveManager INSTANCE = new SaveManager();
 
   private final Set<Path> paths = new HashSet<>();
+  private final List<Consumer<Path>> saveListeners = new CopyOnWriteArrayList<>();
 
   /**
    * Return the singleton instance of SaveManager. Tracks which files have been edited so the user can be prompted to
@@ -26,6 +30,18 @@ public final class SaveManager {
     paths.add(path);
   }
 
+  /**
+   * Adds a listener that is called with every path after it is written to its file.
+   * @param listener The listener to add.
+   */
+  public void addSaveListener(Consumer<Path> listener) {
+    saveListeners.add(listener);
+  }
+
+  public void removeSaveListener(Consumer<Path> listener) {
+    saveListeners.remove(listener);
+  }
+
   public boolean hasChanges(Path path) {
     return paths.contains(path);
   }
@@ -87,7 +103,11 @@ public final class SaveManager {
    */
   private void saveChange(Path path, boolean remove) {
     String pathDirectory = ProjectPreferences.getInstance().getDirectory() + "/Paths/";
-    PathIOUtil.export(pathDirectory, path);
+    if (PathIOUtil.export(pathDirectory, path)) {
+      for (Consumer<Path> listener : saveListeners) {
+        listener.accept(path);
+      }
+    }
     if (remove) {
       paths.remove(path);
     }
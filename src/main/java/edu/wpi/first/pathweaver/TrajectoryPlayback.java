@@ -0,0 +1,215 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.List;
+
+import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.spline.wpilib.ParameterizedSpline;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import javafx.animation.AnimationTimer;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Drives a robot footprint along the generated trajectories of one or more paths, one after another.
+ * The trajectories are sampled once, when playback starts, into evenly timed arrays; each frame then
+ * only interpolates between two samples, so playback does not allocate while it runs.
+ */
+public class TrajectoryPlayback {
+  private static final double SAMPLE_PERIOD_SECONDS = 0.01;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final double MIN_SPEED = 0.125;
+  private static final double MAX_SPEED = 8;
+
+  private final Rectangle robot = new Rectangle();
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      frame(now);
+    }
+  };
+
+  private Samples samples;
+  private double speed = 1;
+  private double playedSeconds;
+  private long lastFrame;
+
+  /**
+   * Creates a hidden robot footprint.
+   */
+  public TrajectoryPlayback() {
+    robot.getStyleClass().add("tank");
+    robot.setMouseTransparent(true);
+    robot.setManaged(false);
+    robot.setVisible(false);
+  }
+
+  /**
+   * Gets the footprint to add to the pane the paths are drawn in.
+   */
+  public Rectangle getRobot() {
+    return robot;
+  }
+
+  public boolean isPlaying() {
+    return robot.isVisible();
+  }
+
+  /**
+   * Plays the trajectories of the given paths back to back from the start.
+   *
+   * @param paths the paths to drive, in order
+   * @return false if no trajectory could be generated for the paths
+   */
+  public boolean play(List<Path> paths) {
+    stop();
+    ProjectPreferences.Values values = ProjectPreferences.getInstance().getValues();
+    samples = Samples.of(paths, values.getMaxVelocity(), values.getMaxAcceleration(), values.getTrackWidth());
+    if (samples == null) {
+      return false;
+    }
+    double size = values.getTrackWidth();
+    robot.setX(-size / 2);
+    robot.setY(-size / 2);
+    robot.setWidth(size);
+    robot.setHeight(size);
+    playedSeconds = 0;
+    lastFrame = 0;
+    show(0);
+    robot.setVisible(true);
+    timer.start();
+    return true;
+  }
+
+  /**
+   * Stops playback and hides the robot.
+   */
+  public void stop() {
+    timer.stop();
+    robot.setVisible(false);
+  }
+
+  /**
+   * Sets how many times faster than real time playback runs.
+   *
+   * @param speed the playback speed, clamped to between 1/8 and 8
+   */
+  public void setSpeed(double speed) {
+    this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+  }
+
+  public double getSpeed() {
+    return speed;
+  }
+
+  private void frame(long now) {
+    if (lastFrame != 0) {
+      playedSeconds += (now - lastFrame) / NANOS_PER_SECOND * speed;
+    }
+    lastFrame = now;
+    if (playedSeconds > samples.getTotalTime()) {
+      stop();
+      return;
+    }
+    show(playedSeconds);
+  }
+
+  private void show(double time) {
+    samples.interpolate(time);
+    robot.setTranslateX(samples.x);
+    robot.setTranslateY(samples.y);
+    robot.setRotate(samples.rotation);
+  }
+
+  /**
+   * Robot poses at a fixed time step, in project units and JavaFX coordinates, with the rotation in degrees
+   * clockwise. Rotations are unwrapped so that neighbouring samples can be interpolated directly.
+   */
+  static final class Samples {
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] rotations;
+    private final double totalTime;
+    double x;
+    double y;
+    double rotation;
+
+    Samples(double[] xs, double[] ys, double[] rotations, double totalTime) {
+      this.xs = xs;
+      this.ys = ys;
+      this.rotations = rotations;
+      this.totalTime = totalTime;
+    }
+
+    /**
+     * Generates and samples the trajectories of the given paths, back to back.
+     *
+     * @return the samples, or null if a trajectory could not be generated
+     */
+    static Samples of(List<Path> paths, double maxVelocity, double maxAcceleration, double trackWidth) {
+      Trajectory[] trajectories = new Trajectory[paths.size()];
+      ParameterizedSpline[] splines = new ParameterizedSpline[paths.size()];
+      double totalTime = 0;
+      for (int i = 0; i < paths.size(); i++) {
+        if (!(paths.get(i).getSpline() instanceof WpilibSpline)) {
+          return null;
+        }
+        splines[i] = ((WpilibSpline) paths.get(i).getSpline()).getParameterizedSpline();
+        trajectories[i] = splines[i] == null ? null
+            : splines[i].timeParameterize(maxVelocity, maxAcceleration, trackWidth);
+        if (trajectories[i] == null) {
+          return null;
+        }
+        totalTime += trajectories[i].getTotalTimeSeconds();
+      }
+      if (paths.isEmpty()) {
+        return null;
+      }
+
+      int count = (int) Math.ceil(totalTime / SAMPLE_PERIOD_SECONDS) + 1;
+      double[] xs = new double[count];
+      double[] ys = new double[count];
+      double[] rotations = new double[count];
+      int path = 0;
+      double pathStart = 0;
+      for (int i = 0; i < count; i++) {
+        double time = Math.min(i * SAMPLE_PERIOD_SECONDS, totalTime);
+        while (path < trajectories.length - 1 && time > pathStart + trajectories[path].getTotalTimeSeconds()) {
+          pathStart += trajectories[path].getTotalTimeSeconds();
+          path++;
+        }
+        Trajectory.State state = trajectories[path].sample(time - pathStart);
+        double scale = splines[path].getUnitScale();
+        xs[i] = state.poseMeters.getX() / scale;
+        //Convert from WPILib to JavaFX coords
+        ys[i] = -(state.poseMeters.getY() - splines[path].getHeightOffset()) / scale;
+        rotations[i] = -state.poseMeters.getRotation().getDegrees();
+        if (i > 0) {
+          rotations[i] = rotations[i - 1] + Math.IEEEremainder(rotations[i] - rotations[i - 1], 360);
+        }
+      }
+      return new Samples(xs, ys, rotations, totalTime);
+    }
+
+    double getTotalTime() {
+      return totalTime;
+    }
+
+    /**
+     * Sets {@link #x}, {@link #y} and {@link #rotation} to the pose at the given time.
+     */
+    void interpolate(double time) {
+      double position = Math.max(0, Math.min(time / SAMPLE_PERIOD_SECONDS, xs.length - 1));
+      int index = Math.min((int) position, xs.length - 2);
+      if (index < 0) {
+        x = xs[0];
+        y = ys[0];
+        rotation = rotations[0];
+        return;
+      }
+      double fraction = position - index;
+      x = xs[index] + (xs[index + 1] - xs[index]) * fraction;
+      y = ys[index] + (ys[index + 1] - ys[index]) * fraction;
+      rotation = rotations[index] + (rotations[index + 1] - rotations[index]) * fraction;
+    }
+  }
+}
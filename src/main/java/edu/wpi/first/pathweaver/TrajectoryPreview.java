@@ -0,0 +1,176 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.spline.wpilib.ParameterizedSpline;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+/**
+ * Shows the drive time and velocity profile of the selected path, kept up to date while it is edited.
+ * Trajectories are generated on a background thread from the samples the editor already drew. Bursts of
+ * edits, such as a waypoint drag, are throttled: a trajectory is generated once the edits pause, and at
+ * least every {@value #MAX_WAIT_MILLIS} ms while they continue. A trajectory that finishes after a newer one
+ * was shown is discarded.
+ */
+public class TrajectoryPreview extends VBox {
+  private static final long DEBOUNCE_MILLIS = 40;
+  private static final long MAX_WAIT_MILLIS = 150;
+  private static final int CHART_POINTS = 100;
+  private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Trajectory preview");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Label totalTime = new Label();
+  private final XYChart.Series<Number, Number> velocity = new XYChart.Series<>();
+  private final InvalidationListener pathListener = observable -> schedule();
+
+  private Path path;
+  private ScheduledFuture<?> pending;
+  // When the oldest edit that no started generation includes was made
+  private long firstChangeNanos;
+  // Only touched on the FX thread; a generation older than the one shown last is dropped
+  private long request;
+  private long shownRequest;
+
+  // Speed limits change the trajectory as much as the path does
+  private final ChangeListener<ProjectPreferences.Values> preferencesListener = (observable, oldValue, newValue) -> {
+    if (path != null) {
+      schedule();
+    }
+  };
+
+  /**
+   * Creates an empty preview.
+   */
+  public TrajectoryPreview() {
+    super();
+    NumberAxis time = new NumberAxis();
+    time.setLabel("Time (s)");
+    NumberAxis speed = new NumberAxis();
+    speed.setLabel("Velocity");
+    LineChart<Number, Number> chart = new LineChart<>(time, speed);
+    chart.setAnimated(false);
+    chart.setCreateSymbols(false);
+    chart.setLegendVisible(false);
+    chart.setPrefHeight(180);
+    chart.getData().add(velocity);
+    getChildren().addAll(totalTime, chart);
+    clear();
+  }
+
+  /**
+   * Follows the given path, regenerating the preview each time the path or the project's speed limits
+   * change.
+   *
+   * @param currentPath the selected path
+   */
+  public void bindToPath(ObservableValue<Path> currentPath) {
+    // Weak, since the preferences of a project outlive the main screens that show it
+    ProjectPreferences.getInstance().valuesProperty().addListener(new WeakChangeListener<>(preferencesListener));
+    currentPath.addListener((observable, oldValue, newValue) -> {
+      if (oldValue != null) {
+        oldValue.revisionProperty().removeListener(pathListener);
+      }
+      path = newValue;
+      cancel();
+      if (newValue == null) {
+        clear();
+      } else {
+        newValue.revisionProperty().addListener(pathListener);
+        schedule();
+      }
+    });
+  }
+
+  /**
+   * Drops every generation requested so far, including those already running.
+   */
+  private void cancel() {
+    shownRequest = ++request;
+    if (pending != null) {
+      pending.cancel(false);
+    }
+  }
+
+  private void schedule() {
+    if (!(path.getSpline() instanceof WpilibSpline)) {
+      cancel();
+      return;
+    }
+    ParameterizedSpline spline = ((WpilibSpline) path.getSpline()).getParameterizedSpline();
+    if (spline == null) {
+      cancel();
+      totalTime.setText("Total time: invalid path");
+      velocity.getData().clear();
+      return;
+    }
+    ProjectPreferences.Values values = ProjectPreferences.getInstance().getValues();
+    double maxVelocity = values.getMaxVelocity();
+    double maxAcceleration = values.getMaxAcceleration();
+    double trackWidth = values.getTrackWidth();
+    long now = System.nanoTime();
+    // A generation that has not started yet is replaced, so the edits it was waiting for are still pending
+    if (pending == null || !pending.cancel(false)) {
+      firstChangeNanos = now;
+    }
+    long maxWait = firstChangeNanos + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS) - now;
+    long delay = Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS), maxWait));
+    long thisRequest = ++request;
+    pending = EXECUTOR.schedule(() -> {
+      Trajectory trajectory = spline.timeParameterize(maxVelocity, maxAcceleration, trackWidth);
+      List<XYChart.Data<Number, Number>> data = trajectory == null ? List.of() : chartData(trajectory);
+      Platform.runLater(() -> {
+        if (thisRequest > shownRequest) {
+          shownRequest = thisRequest;
+          show(trajectory, data);
+        }
+      });
+    }, delay, TimeUnit.NANOSECONDS);
+  }
+
+  private static List<XYChart.Data<Number, Number>> chartData(Trajectory trajectory) {
+    List<Trajectory.State> states = trajectory.getStates();
+    int step = Math.max(1, states.size() / CHART_POINTS);
+    List<XYChart.Data<Number, Number>> data = new ArrayList<>(states.size() / step + 1);
+    for (int i = 0; i < states.size(); i += step) {
+      data.add(new XYChart.Data<>(states.get(i).timeSeconds, states.get(i).velocityMetersPerSecond));
+    }
+    Trajectory.State last = states.get(states.size() - 1);
+    data.add(new XYChart.Data<>(last.timeSeconds, last.velocityMetersPerSecond));
+    return data;
+  }
+
+  private void show(Trajectory trajectory, List<XYChart.Data<Number, Number>> data) {
+    if (trajectory == null) {
+      totalTime.setText("Total time: no feasible trajectory");
+    } else {
+      totalTime.setText(String.format(Locale.ROOT, "Total time: %.2f s", trajectory.getTotalTimeSeconds()));
+    }
+    velocity.getData().setAll(data);
+  }
+
+  private void clear() {
+    totalTime.setText("Total time: -");
+    velocity.getData().clear();
+  }
+}
@@ -70,7 +70,6 @@ public class Waypoint {
 
 	public void enableSubchildSelector(int i) {
 		FxUtils.enableSubchildSelector(this.icon, i);
-		getIcon().applyCss();
 	}
 
 	private void setupIcon() {
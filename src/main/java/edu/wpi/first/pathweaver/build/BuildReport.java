@@ -0,0 +1,304 @@
+package edu.wpi.first.pathweaver.build;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * The machine-readable summary of a build, written as JSON to the build directory of the project.
+ * Lengths, velocities and curvatures are in the project's export units.
+ */
+public final class BuildReport {
+    private static final Logger LOGGER = Logger.getLogger(BuildReport.class.getName());
+
+    private final String timestamp;
+    private final double wallTimeMillis;
+    private final int threads;
+    private final double busyTimeMillis;
+    private final double threadUtilization;
+    private final List<PathEntry> paths;
+    private final List<AutonEntry> autons;
+    private final String allianceMirror;
+
+    /**
+     * Creates a report for a finished build.
+     *
+     * @param wallTimeMillis the elapsed time of building the paths in parallel
+     * @param threads        the number of threads the paths were built on
+     * @param paths          the results for each path
+     * @param autons         the results for each auton
+     */
+    public BuildReport(double wallTimeMillis, int threads, List<PathEntry> paths, List<AutonEntry> autons) {
+        this(wallTimeMillis, threads, paths, autons, null);
+    }
+
+    /**
+     * Creates a report for a finished build that also wrote mirrored trajectories.
+     *
+     * @param wallTimeMillis the elapsed time of building the paths in parallel
+     * @param threads        the number of threads the paths were built on
+     * @param paths          the results for each path
+     * @param autons         the results for each auton
+     * @param allianceMirror how trajectories were mirrored for the other alliance, or null if they were not
+     */
+    public BuildReport(double wallTimeMillis, int threads, List<PathEntry> paths, List<AutonEntry> autons,
+                       String allianceMirror) {
+        this.timestamp = Instant.now().toString();
+        this.wallTimeMillis = wallTimeMillis;
+        this.threads = threads;
+        this.busyTimeMillis = paths.stream().filter(PathEntry::isRebuilt)
+                .mapToDouble(PathEntry::getGenerationTimeMillis).sum();
+        this.threadUtilization = wallTimeMillis > 0 ? busyTimeMillis / (wallTimeMillis * threads) : 0;
+        this.paths = List.copyOf(paths);
+        this.autons = List.copyOf(autons);
+        this.allianceMirror = allianceMirror;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getThreadUtilization() {
+        return threadUtilization;
+    }
+
+    /**
+     * Gets how trajectories were mirrored for the other alliance.
+     *
+     * @return the alliance mirror, or null if no mirrored trajectories were written
+     */
+    public String getAllianceMirror() {
+        return allianceMirror;
+    }
+
+    public List<PathEntry> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Gets the entry for a path.
+     *
+     * @param name the name of the path, without extension
+     * @return the entry, or null if this report has none for the path
+     */
+    public PathEntry getPath(String name) {
+        return paths.stream().filter(entry -> entry.name.equals(name)).findFirst().orElse(null);
+    }
+
+    public List<AutonEntry> getAutons() {
+        return autons == null ? List.of() : autons;
+    }
+
+    /**
+     * Gets the entry for an auton.
+     *
+     * @param name the name of the auton
+     * @return the entry, or null if this report has none for the auton
+     */
+    public AutonEntry getAuton(String name) {
+        return getAutons().stream().filter(entry -> entry.name.equals(name)).findFirst().orElse(null);
+    }
+
+    public List<String> getFailedPaths() {
+        return paths.stream().filter(entry -> !entry.succeeded).map(PathEntry::getName).collect(Collectors.toList());
+    }
+
+    public List<String> getFailedAutons() {
+        return getAutons().stream().filter(entry -> !entry.succeeded).map(AutonEntry::getName)
+                .collect(Collectors.toList());
+    }
+
+    public long getRebuiltCount() {
+        return paths.stream().filter(PathEntry::isRebuilt).count();
+    }
+
+    /**
+     * Writes this report as pretty-printed JSON.
+     *
+     * @param file the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public void write(Path file) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            gson.toJson(this, writer);
+        }
+    }
+
+    /**
+     * Reads a previously written report.
+     *
+     * @param file the report file
+     * @return the report, or null if the file does not exist or could not be read
+     */
+    public static BuildReport read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            BuildReport report = new Gson().fromJson(reader, BuildReport.class);
+            return report == null || report.paths == null ? null : report;
+        } catch (IOException | JsonParseException e) {
+            LOGGER.log(Level.WARNING, "Could not read build report " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * The build result of a single path.
+     */
+    public static final class PathEntry {
+        private final String name;
+        private final boolean rebuilt;
+        private final boolean succeeded;
+        private final double generationTimeMillis;
+        private final int stateCount;
+        private final double totalTimeSeconds;
+        private final double length;
+        private final double maxCurvature;
+        private final long fileSizeBytes;
+
+        @SuppressWarnings("PMD.ExcessiveParameterList")
+        PathEntry(String name, boolean rebuilt, boolean succeeded, double generationTimeMillis, int stateCount,
+                  double totalTimeSeconds, double length, double maxCurvature, long fileSizeBytes) {
+            this.name = name;
+            this.rebuilt = rebuilt;
+            this.succeeded = succeeded;
+            this.generationTimeMillis = generationTimeMillis;
+            this.stateCount = stateCount;
+            this.totalTimeSeconds = totalTimeSeconds;
+            this.length = length;
+            this.maxCurvature = maxCurvature;
+            this.fileSizeBytes = fileSizeBytes;
+        }
+
+        static PathEntry failed(String name, double generationTimeMillis) {
+            return new PathEntry(name, true, false, generationTimeMillis, 0, 0, 0, 0, 0);
+        }
+
+        /**
+         * Copies an entry from an earlier build for a path that did not need rebuilding.
+         *
+         * @return a copy of this entry marked as skipped
+         */
+        PathEntry skipped() {
+            return new PathEntry(name, false, succeeded, generationTimeMillis, stateCount, totalTimeSeconds, length,
+                    maxCurvature, fileSizeBytes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRebuilt() {
+            return rebuilt;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        public double getGenerationTimeMillis() {
+            return generationTimeMillis;
+        }
+
+        public int getStateCount() {
+            return stateCount;
+        }
+
+        public double getTotalTimeSeconds() {
+            return totalTimeSeconds;
+        }
+
+        public double getLength() {
+            return length;
+        }
+
+        public double getMaxCurvature() {
+            return maxCurvature;
+        }
+
+        public long getFileSizeBytes() {
+            return fileSizeBytes;
+        }
+    }
+
+    /**
+     * The build result of an auton's concatenated trajectory.
+     */
+    public static final class AutonEntry {
+        private final String name;
+        private final boolean rebuilt;
+        private final boolean succeeded;
+        private final int pathCount;
+        private final int stateCount;
+        private final double totalTimeSeconds;
+        private final long fileSizeBytes;
+
+        AutonEntry(String name, boolean rebuilt, boolean succeeded, int pathCount, int stateCount,
+                   double totalTimeSeconds, long fileSizeBytes) {
+            this.name = name;
+            this.rebuilt = rebuilt;
+            this.succeeded = succeeded;
+            this.pathCount = pathCount;
+            this.stateCount = stateCount;
+            this.totalTimeSeconds = totalTimeSeconds;
+            this.fileSizeBytes = fileSizeBytes;
+        }
+
+        static AutonEntry failed(String name, int pathCount) {
+            return new AutonEntry(name, true, false, pathCount, 0, 0, 0);
+        }
+
+        AutonEntry skipped() {
+            return new AutonEntry(name, false, succeeded, pathCount, stateCount, totalTimeSeconds, fileSizeBytes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRebuilt() {
+            return rebuilt;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        public int getPathCount() {
+            return pathCount;
+        }
+
+        public int getStateCount() {
+            return stateCount;
+        }
+
+        public double getTotalTimeSeconds() {
+            return totalTimeSeconds;
+        }
+
+        public long getFileSizeBytes() {
+            return fileSizeBytes;
+        }
+    }
+}
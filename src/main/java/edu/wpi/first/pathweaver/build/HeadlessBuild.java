@@ -0,0 +1,69 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.MainIOUtil;
+import edu.wpi.first.pathweaver.ProjectPreferences;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the trajectories of a PathWeaver project without opening a window, for robot project builds and
+ * continuous integration. The arguments are the project directory and, optionally, the output directory,
+ * which defaults to the project's own output directory. The exit code is 0 when everything was built,
+ * 1 when some paths or autons failed and 2 when the arguments are wrong.
+ */
+public final class HeadlessBuild {
+    private HeadlessBuild() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Builds a project like {@link #main(String[])}, without exiting.
+     *
+     * @param args the project directory and, optionally, the output directory
+     * @return the exit code
+     */
+    public static int run(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: HeadlessBuild <project directory> [output directory]");
+            return 2;
+        }
+        // Keep number formats the same as the application
+        Locale.setDefault(new Locale("en", "US"));
+        Path project = Paths.get(args[0]).toAbsolutePath().normalize();
+        if (!ProjectPreferences.projectExists(project.toString())) {
+            System.err.println("No PathWeaver project in " + project);
+            return 2;
+        }
+        ProjectPreferences preferences = ProjectPreferences.getInstance(project.toString());
+        Path output = args.length == 2 ? Paths.get(args[1]) : preferences.getOutputDir().toPath();
+
+        BuildReport report;
+        try {
+            report = new PathBuilder(project, output, TrajectoryMirror.forProject()).build(
+                    MainIOUtil.listItemsInDirectory(project.resolve("Paths").toString()),
+                    MainIOUtil.listItemsInDirectory(project.resolve("Autos").toString()));
+        } catch (IOException e) {
+            System.err.println("Could not export to " + output + ": " + e.getMessage());
+            return 1;
+        }
+
+        System.out.println(String.format("Rebuilt %d of %d paths into %s in %.0f ms.", report.getRebuiltCount(),
+                report.getPaths().size(), output.toAbsolutePath(), report.getWallTimeMillis()));
+        List<String> failed = new ArrayList<>(report.getFailedPaths());
+        failed.addAll(report.getFailedAutons());
+        if (!failed.isEmpty()) {
+            System.err.println("Could not build " + String.join(", ", failed));
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,198 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.PathIOUtil;
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.spline.wpilib.ParameterizedSpline;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Times the paths of a project under every combination of a set of maximum velocities and accelerations,
+ * so constraints can be compared without rebuilding the project for each one. Each path's splines are
+ * sampled once and shared by all of its settings, and the settings are timed in parallel.
+ */
+public class ParameterSweep {
+    public static final String REPORT_FILE = "parameter-sweep.csv";
+    private static final Logger LOGGER = Logger.getLogger(ParameterSweep.class.getName());
+
+    private final Path pathDirectory;
+
+    /**
+     * Creates a sweep for a project.
+     *
+     * @param projectDirectory the project directory, holding the Paths directory
+     */
+    public ParameterSweep(Path projectDirectory) {
+        this.pathDirectory = projectDirectory.resolve("Paths");
+    }
+
+    /**
+     * Times every path under every combination of the given limits, using the project's track width.
+     *
+     * @param pathFileNames    the file names of the paths in the project's Paths directory
+     * @param maxVelocities    the maximum velocities to try, in project units per second
+     * @param maxAccelerations the maximum accelerations to try, in project units per second squared
+     * @return the total times of each path and setting
+     * @throws IOException if the sweep was interrupted
+     */
+    public Result run(List<String> pathFileNames, double[] maxVelocities, double[] maxAccelerations)
+            throws IOException {
+        double trackWidth = ProjectPreferences.getInstance().getValues().getTrackWidth();
+        // Converts the shared field to the project's units here, so the sweep threads only read it
+        ProjectPreferences.getInstance().getField();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Parameter sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Result result = new Result(pathFileNames, maxVelocities, maxAccelerations);
+        try {
+            List<Future<ParameterizedSpline>> splines = new ArrayList<>();
+            for (String fileName : pathFileNames) {
+                splines.add(executor.submit(() -> parameterize(fileName)));
+            }
+
+            List<Future<Double>> times = new ArrayList<>();
+            for (Future<ParameterizedSpline> future : splines) {
+                ParameterizedSpline spline = getOrNull(future);
+                for (double maxVelocity : maxVelocities) {
+                    for (double maxAcceleration : maxAccelerations) {
+                        times.add(executor.submit(() -> totalTime(spline, maxVelocity, maxAcceleration, trackWidth)));
+                    }
+                }
+            }
+            for (int i = 0; i < times.size(); i++) {
+                Double time = getOrNull(times.get(i));
+                result.totalTimes[i] = time == null ? Double.NaN : time;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The sweep was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private ParameterizedSpline parameterize(String fileName) {
+        edu.wpi.first.pathweaver.path.Path path = PathIOUtil.importPath(pathDirectory.toString(), fileName);
+        if (path == null) {
+            return null;
+        }
+        // Importing a path already sampled its splines for drawing
+        return path.getSpline() instanceof WpilibSpline ? ((WpilibSpline) path.getSpline()).getParameterizedSpline()
+                : ParameterizedSpline.of(path.getWaypoints());
+    }
+
+    private static double totalTime(ParameterizedSpline spline, double maxVelocity, double maxAcceleration,
+                                    double trackWidth) {
+        Trajectory trajectory = spline == null ? null
+                : spline.timeParameterize(maxVelocity, maxAcceleration, trackWidth);
+        return trajectory == null ? Double.NaN : trajectory.getTotalTimeSeconds();
+    }
+
+    private static <T> T getOrNull(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Could not time path", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * The total times of a sweep, for each path and each combination of velocity and acceleration.
+     */
+    public static final class Result {
+        private final List<String> pathNames = new ArrayList<>();
+        private final double[] maxVelocities;
+        private final double[] maxAccelerations;
+        private final double[] totalTimes;
+
+        private Result(List<String> pathFileNames, double[] maxVelocities, double[] maxAccelerations) {
+            for (String fileName : pathFileNames) {
+                pathNames.add(PathBuilder.stripExtension(fileName));
+            }
+            this.maxVelocities = maxVelocities.clone();
+            this.maxAccelerations = maxAccelerations.clone();
+            this.totalTimes = new double[pathNames.size() * maxVelocities.length * maxAccelerations.length];
+            Arrays.fill(totalTimes, Double.NaN);
+        }
+
+        public List<String> getPathNames() {
+            return pathNames;
+        }
+
+        /**
+         * Gets the total time of a path under one setting.
+         *
+         * @param path              the index of the path
+         * @param velocityIndex     the index of the maximum velocity
+         * @param accelerationIndex the index of the maximum acceleration
+         * @return the total time in seconds, or NaN if no trajectory could be generated
+         */
+        public double getTotalTime(int path, int velocityIndex, int accelerationIndex) {
+            return totalTimes[(path * maxVelocities.length + velocityIndex) * maxAccelerations.length
+                    + accelerationIndex];
+        }
+
+        /**
+         * Formats the result as a table with one row per setting and one column per path. A final column
+         * holds the sum of all paths, which is blank if any path failed under that setting.
+         *
+         * @return the table as comma separated values
+         */
+        public String toCsv() {
+            StringBuilder csv = new StringBuilder(64 * (maxVelocities.length * maxAccelerations.length + 1));
+            csv.append("maxVelocity,maxAcceleration");
+            for (String name : pathNames) {
+                csv.append(',').append(name);
+            }
+            csv.append(",total\n");
+            for (int v = 0; v < maxVelocities.length; v++) {
+                for (int a = 0; a < maxAccelerations.length; a++) {
+                    csv.append(format(maxVelocities[v])).append(',').append(format(maxAccelerations[a]));
+                    double total = 0;
+                    for (int p = 0; p < pathNames.size(); p++) {
+                        double time = getTotalTime(p, v, a);
+                        total += time;
+                        csv.append(',').append(format(time));
+                    }
+                    csv.append(',').append(format(total)).append('\n');
+                }
+            }
+            return csv.toString();
+        }
+
+        /**
+         * Writes the table from {@link #toCsv()} to a file.
+         *
+         * @param file the file to write
+         * @throws IOException if the file could not be written
+         */
+        public void write(Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, toCsv().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String format(double value) {
+            return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+}
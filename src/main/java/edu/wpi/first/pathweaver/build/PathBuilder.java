@@ -0,0 +1,372 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.MainIOUtil;
+import edu.wpi.first.pathweaver.PathIOUtil;
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds the trajectories for the paths of a project into an output directory. Paths are built in parallel,
+ * and a path is skipped when its trajectory is newer than both its path file and the project preferences.
+ * Paths saved from the editor are timed from the splines the editor already sampled.
+ * Each auton is then written as a single trajectory made by concatenating the trajectories of its paths,
+ * which are reused from this build or read back from earlier output instead of being generated again. An
+ * auton fails if one of its paths does not start where the path before it ends.
+ * With a {@link TrajectoryMirror}, every trajectory is also written mirrored for the other alliance, in the
+ * same pass and from the same generated states. A {@link BuildReport} is written to the project's
+ * {@value #REPORT_DIRECTORY} directory, so the output directory only holds what is deployed to the robot.
+ */
+public class PathBuilder {
+    public static final String REPORT_DIRECTORY = "build";
+    public static final String REPORT_FILE = "build-report.json";
+    public static final String AUTON_OUTPUT_DIRECTORY = "Autos";
+    public static final String MIRROR_OUTPUT_DIRECTORY = "Mirrored";
+    private static final Logger LOGGER = Logger.getLogger(PathBuilder.class.getName());
+    private static final String PATH_EXTENSION = ".path";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    // How far apart, in export units and radians, the paths of an auton may be where they meet
+    static final double JOIN_TOLERANCE = 0.01;
+    static final double JOIN_HEADING_TOLERANCE = 0.01;
+
+    private final Path pathDirectory;
+    private final Path autonDirectory;
+    private final Path outputDirectory;
+    private final Path preferencesFile;
+    private final Path reportFile;
+    private final TrajectoryMirror mirror;
+    private final Map<String, Trajectory> trajectories = new ConcurrentHashMap<>();
+    private final Set<String> failedPaths = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a builder for a project.
+     *
+     * @param projectDirectory the project directory, holding the preferences and the Paths directory
+     * @param outputDirectory  the directory to write trajectories to
+     */
+    public PathBuilder(Path projectDirectory, Path outputDirectory) {
+        this(projectDirectory, outputDirectory, null);
+    }
+
+    /**
+     * Creates a builder for a project that also writes every trajectory mirrored for the other alliance,
+     * into the {@value #MIRROR_OUTPUT_DIRECTORY} directory of the output directory.
+     *
+     * @param projectDirectory the project directory, holding the preferences and the Paths directory
+     * @param outputDirectory  the directory to write trajectories to
+     * @param mirror           the mirror for the other alliance, or null to only write the paths as drawn
+     */
+    public PathBuilder(Path projectDirectory, Path outputDirectory, TrajectoryMirror mirror) {
+        this.mirror = mirror;
+        this.pathDirectory = projectDirectory.resolve("Paths");
+        this.autonDirectory = projectDirectory.resolve("Autos");
+        this.outputDirectory = outputDirectory;
+        this.preferencesFile = projectDirectory.resolve(ProjectPreferences.FILE_NAME);
+        this.reportFile = projectDirectory.resolve(REPORT_DIRECTORY).resolve(REPORT_FILE);
+    }
+
+    /**
+     * Builds the given paths and writes the build report.
+     *
+     * @param pathFileNames the file names of the paths in the project's Paths directory
+     * @return the report of this build
+     * @throws IOException if the output directory could not be created
+     */
+    public BuildReport build(List<String> pathFileNames) throws IOException {
+        return build(pathFileNames, List.of());
+    }
+
+    /**
+     * Builds the given paths, then the given autons, and writes the build report.
+     *
+     * @param pathFileNames the file names of the paths in the project's Paths directory
+     * @param autonNames    the file names of the autons in the project's Autos directory
+     * @return the report of this build
+     * @throws IOException if the output directory could not be created
+     */
+    public BuildReport build(List<String> pathFileNames, List<String> autonNames) throws IOException {
+        failedPaths.clear();
+        Files.createDirectories(outputDirectory);
+        BuildReport previous = BuildReport.read(reportFile);
+        // Converts the shared field to the project's units here, so the builder threads only read it
+        ProjectPreferences.getInstance().getField();
+
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), pathFileNames.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Path builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<BuildReport.PathEntry> entries = new ArrayList<>();
+        // Only the parallel phase is timed, so the thread utilization is not diluted by serial work
+        long start = System.nanoTime();
+        try {
+            List<Future<BuildReport.PathEntry>> futures = new ArrayList<>();
+            for (String fileName : pathFileNames) {
+                futures.add(executor.submit(() -> buildPath(fileName, previous)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    entries.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Could not build " + pathFileNames.get(i), e.getCause());
+                    entries.add(BuildReport.PathEntry.failed(stripExtension(pathFileNames.get(i)), 0));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The build was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        double pathMillis = millisSince(start);
+
+        List<BuildReport.AutonEntry> autonEntries = new ArrayList<>();
+        for (String autonName : autonNames) {
+            try {
+                autonEntries.add(buildAuton(autonName, previous));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not build auton " + autonName, e);
+                autonEntries.add(BuildReport.AutonEntry.failed(autonName, 0));
+            }
+        }
+
+        BuildReport report = new BuildReport(pathMillis, threads, entries, autonEntries,
+                mirror == null ? null : mirror.getSymmetry().toString());
+        try {
+            Files.createDirectories(reportFile.getParent());
+            report.write(reportFile);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write build report to " + reportFile, e);
+        }
+        return report;
+    }
+
+    private BuildReport.PathEntry buildPath(String fileName, BuildReport previous) throws IOException {
+        String name = stripExtension(fileName);
+        Path output = outputDirectory.resolve(name + WpilibSpline.TRAJECTORY_EXTENSION);
+        BuildReport.PathEntry previousEntry = previous == null ? null : previous.getPath(name);
+        if (previousEntry != null && previousEntry.isSucceeded() && isUpToDate(pathDirectory.resolve(fileName), output)) {
+            Trajectory trajectory = isMirrorUpToDate(output) ? null : getTrajectory(name);
+            if (trajectory != null) {
+                writeMirrored(trajectory, output);
+            }
+            return previousEntry.skipped();
+        }
+
+        long start = System.nanoTime();
+        edu.wpi.first.pathweaver.path.Path path = PathIOUtil.importPath(pathDirectory.toString(), fileName);
+        Trajectory trajectory = path == null ? null : path.getSpline().generateTrajectory();
+        if (trajectory == null) {
+            trajectories.remove(name);
+            failedPaths.add(name);
+            return BuildReport.PathEntry.failed(name, millisSince(start));
+        }
+        TrajectoryUtil.toPathweaverJson(trajectory, output);
+        writeMirrored(trajectory, output);
+        trajectories.put(name, trajectory);
+        return describe(name, trajectory, millisSince(start), Files.size(output));
+    }
+
+    private BuildReport.AutonEntry buildAuton(String autonName, BuildReport previous) throws IOException {
+        List<String> pathFileNames = MainIOUtil.readAuton(autonDirectory.toString(), autonName);
+        Path output = outputDirectory.resolve(AUTON_OUTPUT_DIRECTORY)
+                .resolve(autonName + WpilibSpline.TRAJECTORY_EXTENSION);
+        BuildReport.AutonEntry previousEntry = previous == null ? null : previous.getAuton(autonName);
+        if (previousEntry != null && previousEntry.isSucceeded()
+                && isAutonUpToDate(autonDirectory.resolve(autonName), pathFileNames, output)
+                && isMirrorUpToDate(output)) {
+            return previousEntry.skipped();
+        }
+
+        List<Trajectory> parts = new ArrayList<>();
+        for (String fileName : pathFileNames) {
+            Trajectory trajectory = getTrajectory(stripExtension(fileName));
+            if (trajectory == null) {
+                return BuildReport.AutonEntry.failed(autonName, pathFileNames.size());
+            }
+            parts.add(trajectory);
+        }
+        if (parts.isEmpty()) {
+            return BuildReport.AutonEntry.failed(autonName, 0);
+        }
+        for (int i = 1; i < parts.size(); i++) {
+            if (!joins(parts.get(i - 1), parts.get(i))) {
+                LOGGER.warning(String.format("Could not build auton %s: %s does not start where %s ends", autonName,
+                        pathFileNames.get(i), pathFileNames.get(i - 1)));
+                return BuildReport.AutonEntry.failed(autonName, parts.size());
+            }
+        }
+
+        Trajectory auton = concatenate(parts);
+        Files.createDirectories(output.getParent());
+        TrajectoryUtil.toPathweaverJson(auton, output);
+        writeMirrored(auton, output);
+        return new BuildReport.AutonEntry(autonName, true, true, parts.size(), auton.getStates().size(),
+                auton.getTotalTimeSeconds(), Files.size(output));
+    }
+
+    /**
+     * Gets where the mirrored copy of an output file is written, at the same place relative to the mirror
+     * directory.
+     */
+    private Path mirroredOutput(Path output) {
+        return outputDirectory.resolve(MIRROR_OUTPUT_DIRECTORY).resolve(outputDirectory.relativize(output));
+    }
+
+    private void writeMirrored(Trajectory trajectory, Path output) throws IOException {
+        if (mirror != null) {
+            Path mirrored = mirroredOutput(output);
+            Files.createDirectories(mirrored.getParent());
+            TrajectoryUtil.toPathweaverJson(mirror.mirror(trajectory), mirrored);
+        }
+    }
+
+    private boolean isMirrorUpToDate(Path output) throws IOException {
+        if (mirror == null) {
+            return true;
+        }
+        Path mirrored = mirroredOutput(output);
+        return Files.exists(mirrored)
+                && Files.getLastModifiedTime(mirrored).toMillis() >= Files.getLastModifiedTime(output).toMillis();
+    }
+
+    /**
+     * Gets the trajectory of a path, from this builder's cache or from the path's exported file.
+     */
+    private Trajectory getTrajectory(String name) {
+        if (failedPaths.contains(name)) {
+            return null;
+        }
+        Trajectory trajectory = trajectories.get(name);
+        Path file = outputDirectory.resolve(name + WpilibSpline.TRAJECTORY_EXTENSION);
+        if (trajectory == null && Files.exists(file)) {
+            try {
+                trajectory = TrajectoryUtil.fromPathweaverJson(file);
+                trajectories.put(name, trajectory);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not read trajectory " + file, e);
+            }
+        }
+        return trajectory;
+    }
+
+    /**
+     * Joins trajectories end to end into one time-continuous trajectory. Each following trajectory must start
+     * where the one before it ends; its first state repeats that final state and is dropped.
+     *
+     * @param trajectories the trajectories to join, in driving order
+     * @return the concatenated trajectory
+     * @throws IllegalArgumentException if a trajectory does not start where the one before it ends
+     */
+    static Trajectory concatenate(List<Trajectory> trajectories) {
+        List<Trajectory.State> states = new ArrayList<>();
+        Trajectory before = null;
+        for (Trajectory trajectory : trajectories) {
+            if (before != null && !joins(before, trajectory)) {
+                throw new IllegalArgumentException("A trajectory does not start where the one before it ends");
+            }
+            before = trajectory;
+            double offset = states.isEmpty() ? 0 : states.get(states.size() - 1).timeSeconds;
+            List<Trajectory.State> parts = trajectory.getStates();
+            for (int i = states.isEmpty() ? 0 : 1; i < parts.size(); i++) {
+                Trajectory.State state = parts.get(i);
+                states.add(new Trajectory.State(state.timeSeconds + offset, state.velocityMetersPerSecond,
+                        state.accelerationMetersPerSecondSq, state.poseMeters, state.curvatureRadPerMeter));
+            }
+        }
+        return new Trajectory(states);
+    }
+
+    /**
+     * Checks whether one trajectory starts at the position and heading the other ends at, within
+     * {@link #JOIN_TOLERANCE} and {@link #JOIN_HEADING_TOLERANCE}.
+     */
+    static boolean joins(Trajectory before, Trajectory after) {
+        List<Trajectory.State> beforeStates = before.getStates();
+        Pose2d end = beforeStates.get(beforeStates.size() - 1).poseMeters;
+        Pose2d start = after.getStates().get(0).poseMeters;
+        Rotation2d turn = start.getRotation().minus(end.getRotation());
+        return end.getTranslation().getDistance(start.getTranslation()) <= JOIN_TOLERANCE
+                && Math.abs(Math.atan2(turn.getSin(), turn.getCos())) <= JOIN_HEADING_TOLERANCE;
+    }
+
+    private boolean isAutonUpToDate(Path autonFile, List<String> pathFileNames, Path output) throws IOException {
+        if (!Files.exists(output) || !Files.exists(autonFile)) {
+            return false;
+        }
+        long outputTime = Files.getLastModifiedTime(output).toMillis();
+        if (outputTime < Files.getLastModifiedTime(autonFile).toMillis()) {
+            return false;
+        }
+        for (String fileName : pathFileNames) {
+            Path pathOutput = outputDirectory.resolve(stripExtension(fileName) + WpilibSpline.TRAJECTORY_EXTENSION);
+            if (failedPaths.contains(stripExtension(fileName)) || !Files.exists(pathOutput)
+                    || outputTime < Files.getLastModifiedTime(pathOutput).toMillis()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isUpToDate(Path pathFile, Path output) throws IOException {
+        if (!Files.exists(output) || !Files.exists(pathFile)) {
+            return false;
+        }
+        long outputTime = Files.getLastModifiedTime(output).toMillis();
+        boolean newerThanPreferences = !Files.exists(preferencesFile)
+                || outputTime >= Files.getLastModifiedTime(preferencesFile).toMillis();
+        return newerThanPreferences && outputTime >= Files.getLastModifiedTime(pathFile).toMillis();
+    }
+
+    private static BuildReport.PathEntry describe(String name, Trajectory trajectory, double generationTimeMillis,
+                                                  long fileSize) {
+        List<Trajectory.State> states = trajectory.getStates();
+        double length = 0;
+        double maxCurvature = 0;
+        for (int i = 0; i < states.size(); i++) {
+            Trajectory.State state = states.get(i);
+            maxCurvature = Math.max(maxCurvature, Math.abs(state.curvatureRadPerMeter));
+            if (i > 0) {
+                length += state.poseMeters.getTranslation().getDistance(states.get(i - 1).poseMeters.getTranslation());
+            }
+        }
+        return new BuildReport.PathEntry(name, true, true, generationTimeMillis, states.size(),
+                trajectory.getTotalTimeSeconds(), length, maxCurvature, fileSize);
+    }
+
+    /**
+     * Removes the ".path" extension from a path file name.
+     *
+     * @param fileName the file name of a path
+     * @return the name used for the path's output files
+     */
+    public static String stripExtension(String fileName) {
+        if (fileName.endsWith(PATH_EXTENSION)) {
+            return fileName.substring(0, fileName.length() - PATH_EXTENSION.length());
+        }
+        return fileName;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,119 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.PathUnits;
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Moves generated trajectories to the other alliance's side of the field. Only the poses of the states
+ * change, so a mirrored trajectory is made from an already generated one without parameterizing its
+ * splines again. Coordinates are in export units, with the origin in the corner of the field that
+ * generated trajectories are offset to.
+ */
+public final class TrajectoryMirror {
+    /**
+     * How the two halves of a field relate to each other.
+     */
+    public enum Symmetry {
+        /**
+         * Each half is the reflection of the other across the center line.
+         */
+        REFLECT,
+        /**
+         * Each half is the other turned half way around the center of the field.
+         */
+        ROTATE;
+
+        /**
+         * Gets a symmetry by its name, ignoring case.
+         *
+         * @param name the name of the symmetry
+         * @return the symmetry, or null if there is none with the name
+         */
+        public static Symmetry fromName(String name) {
+            for (Symmetry symmetry : values()) {
+                if (symmetry.name().equalsIgnoreCase(name)) {
+                    return symmetry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Symmetry symmetry;
+    private final double fieldWidth;
+    private final double fieldHeight;
+
+    /**
+     * Creates a mirror for a field.
+     *
+     * @param symmetry    how the halves of the field relate
+     * @param fieldWidth  the size of the field along x, in export units
+     * @param fieldHeight the size of the field along y, in export units
+     */
+    public TrajectoryMirror(Symmetry symmetry, double fieldWidth, double fieldHeight) {
+        this.symmetry = symmetry;
+        this.fieldWidth = fieldWidth;
+        this.fieldHeight = fieldHeight;
+    }
+
+    /**
+     * Creates a mirror for the field of the current project, if the project asks for mirrored output.
+     *
+     * @return the mirror, or null if the project does not set an alliance mirror
+     * @see ProjectPreferences.Values#getAllianceMirror()
+     */
+    public static TrajectoryMirror forProject() {
+        ProjectPreferences prefs = ProjectPreferences.getInstance();
+        Symmetry symmetry = Symmetry.fromName(prefs.getValues().getAllianceMirror());
+        if (symmetry == null) {
+            return null;
+        }
+        double width = prefs.getField().getRealWidth().getValue().doubleValue();
+        double height = prefs.getField().getRealLength().getValue().doubleValue();
+        if (prefs.getValues().getExportUnit() == ProjectPreferences.ExportUnit.METER) {
+            var converter = prefs.getField().getUnit().getConverterTo(PathUnits.METER);
+            width = converter.convert(width);
+            height = converter.convert(height);
+        }
+        return new TrajectoryMirror(symmetry, width, height);
+    }
+
+    public Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    /**
+     * Moves a trajectory to the other alliance. Times, velocities and accelerations are kept; a reflection
+     * also turns left turns into right turns, so it negates the curvature.
+     *
+     * @param trajectory the trajectory to move
+     * @return the mirrored trajectory
+     */
+    public Trajectory mirror(Trajectory trajectory) {
+        List<Trajectory.State> states = trajectory.getStates();
+        List<Trajectory.State> mirrored = new ArrayList<>(states.size());
+        boolean reflect = symmetry == Symmetry.REFLECT;
+        for (Trajectory.State state : states) {
+            Pose2d pose = state.poseMeters;
+            double heading = pose.getRotation().getRadians();
+            Pose2d mirroredPose = new Pose2d(fieldWidth - pose.getX(), reflect ? pose.getY() : fieldHeight - pose.getY(),
+                    new Rotation2d(reflect ? Math.PI - heading : heading + Math.PI));
+            mirrored.add(new Trajectory.State(state.timeSeconds, state.velocityMetersPerSecond,
+                    state.accelerationMetersPerSecondSq, mirroredPose,
+                    reflect ? -state.curvatureRadPerMeter : state.curvatureRadPerMeter));
+        }
+        return new Trajectory(mirrored);
+    }
+}
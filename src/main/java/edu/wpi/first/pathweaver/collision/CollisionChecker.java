@@ -0,0 +1,126 @@
+package edu.wpi.first.pathweaver.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks drawn spline segments against the obstacles of a field. The robot is swept along a segment as a
+ * corridor as wide as its track width. Obstacles are indexed in a uniform grid, so a segment is only tested
+ * against the obstacles near it. Checkers are immutable and may be shared between threads.
+ */
+public final class CollisionChecker {
+    private static final int MAX_CELLS_PER_SIDE = 128;
+
+    private final List<Obstacle> obstacles;
+    private final double trackWidth;
+    private final double radius;
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;
+
+    /**
+     * Indexes obstacles for checking a robot of the given width.
+     *
+     * @param obstacles  the obstacles of the field
+     * @param trackWidth the width of the robot, in the same units as the obstacles
+     */
+    public CollisionChecker(List<Obstacle> obstacles, double trackWidth) {
+        this.obstacles = List.copyOf(obstacles);
+        this.trackWidth = trackWidth;
+        this.radius = trackWidth / 2;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Obstacle obstacle : obstacles) {
+            minX = Math.min(minX, obstacle.getMinX());
+            minY = Math.min(minY, obstacle.getMinY());
+            maxX = Math.max(maxX, obstacle.getMaxX());
+            maxY = Math.max(maxY, obstacle.getMaxY());
+        }
+        if (obstacles.isEmpty()) {
+            originX = 0;
+            originY = 0;
+            cellSize = 1;
+            columns = 0;
+            rows = 0;
+            cells = new int[0][];
+            return;
+        }
+        double extent = Math.max(maxX - minX, maxY - minY);
+        originX = minX;
+        originY = minY;
+        cellSize = Math.max(Math.max(trackWidth, extent / MAX_CELLS_PER_SIDE), Double.MIN_NORMAL);
+        columns = Math.min(MAX_CELLS_PER_SIDE, (int) ((maxX - minX) / cellSize) + 1);
+        rows = Math.min(MAX_CELLS_PER_SIDE, (int) ((maxY - minY) / cellSize) + 1);
+
+        List<List<Integer>> lists = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            lists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < this.obstacles.size(); i++) {
+            Obstacle obstacle = this.obstacles.get(i);
+            for (int row = row(obstacle.getMinY()); row <= row(obstacle.getMaxY()); row++) {
+                for (int column = column(obstacle.getMinX()); column <= column(obstacle.getMaxX()); column++) {
+                    lists.get(row * columns + column).add(i);
+                }
+            }
+        }
+        cells = new int[lists.size()][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = lists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    /**
+     * Checks a polyline, as drawn by a spline segment.
+     *
+     * @param points the x and y coordinates of the polyline, alternating
+     * @return true if the robot would hit an obstacle while following the polyline
+     */
+    public boolean collides(Double[] points) {
+        if (cells.length == 0) {
+            return false;
+        }
+        if (points.length == 2) {
+            return collides(points[0], points[1], points[0], points[1]);
+        }
+        for (int i = 0; i + 3 < points.length; i += 2) {
+            if (collides(points[i], points[i + 1], points[i + 2], points[i + 3])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean collides(double x1, double y1, double x2, double y2) {
+        int lastRow = row(Math.max(y1, y2) + radius);
+        int lastColumn = column(Math.max(x1, x2) + radius);
+        for (int row = row(Math.min(y1, y2) - radius); row <= lastRow; row++) {
+            for (int column = column(Math.min(x1, x2) - radius); column <= lastColumn; column++) {
+                for (int obstacle : cells[row * columns + column]) {
+                    // An obstacle spanning several cells may be tested more than once; the test is cheap
+                    if (obstacles.get(obstacle).isNear(x1, y1, x2, y2, radius)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - originX) / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - originY) / cellSize)));
+    }
+}
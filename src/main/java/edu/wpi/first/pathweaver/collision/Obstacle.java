@@ -0,0 +1,151 @@
+package edu.wpi.first.pathweaver.collision;
+
+/**
+ * An immutable polygon that robots must not drive into. Coordinates are in field units, measured from
+ * the top-left corner of the playable area with y pointing down, the same as the draw pane of the field.
+ */
+public final class Obstacle {
+    private final double[] xs;
+    private final double[] ys;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * Creates an obstacle from the corners of a polygon, in order.
+     *
+     * @param xs the x coordinates of the corners
+     * @param ys the y coordinates of the corners
+     * @throws IllegalArgumentException if there are fewer than three corners
+     */
+    public Obstacle(double[] xs, double[] ys) {
+        if (xs.length != ys.length || xs.length < 3) {
+            throw new IllegalArgumentException("An obstacle needs at least three corners");
+        }
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+        double lowX = Double.POSITIVE_INFINITY;
+        double lowY = Double.POSITIVE_INFINITY;
+        double highX = Double.NEGATIVE_INFINITY;
+        double highY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < xs.length; i++) {
+            lowX = Math.min(lowX, xs[i]);
+            lowY = Math.min(lowY, ys[i]);
+            highX = Math.max(highX, xs[i]);
+            highY = Math.max(highY, ys[i]);
+        }
+        this.minX = lowX;
+        this.minY = lowY;
+        this.maxX = highX;
+        this.maxY = highY;
+    }
+
+    /**
+     * Creates a copy of this obstacle with every coordinate multiplied by a factor, for unit conversions.
+     *
+     * @param factor the factor to scale by
+     * @return the scaled obstacle
+     */
+    public Obstacle scale(double factor) {
+        double[] scaledXs = new double[xs.length];
+        double[] scaledYs = new double[ys.length];
+        for (int i = 0; i < xs.length; i++) {
+            scaledXs[i] = xs[i] * factor;
+            scaledYs[i] = ys[i] * factor;
+        }
+        return new Obstacle(scaledXs, scaledYs);
+    }
+
+    public int getCornerCount() {
+        return xs.length;
+    }
+
+    public double getX(int corner) {
+        return xs[corner];
+    }
+
+    public double getY(int corner) {
+        return ys[corner];
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Checks whether the line from (x1, y1) to (x2, y2) passes within a distance of this obstacle.
+     *
+     * @param radius the clearance the line must keep from the obstacle
+     * @return true if the line comes closer than the clearance, or lies inside the obstacle
+     */
+    boolean isNear(double x1, double y1, double x2, double y2, double radius) {
+        if (Math.min(x1, x2) - radius > maxX || Math.max(x1, x2) + radius < minX
+                || Math.min(y1, y2) - radius > maxY || Math.max(y1, y2) + radius < minY) {
+            return false;
+        }
+        if (contains(x1, y1)) {
+            return true;
+        }
+        double radiusSquared = radius * radius;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if (distanceSquared(x1, y1, x2, y2, xs[j], ys[j], xs[i], ys[i]) < radiusSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(double x, double y) {
+        boolean inside = false;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y) && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static double distanceSquared(double ax, double ay, double bx, double by,
+                                          double cx, double cy, double dx, double dy) {
+        if (intersects(ax, ay, bx, by, cx, cy, dx, dy)) {
+            return 0;
+        }
+        return Math.min(Math.min(pointDistanceSquared(ax, ay, cx, cy, dx, dy), pointDistanceSquared(bx, by, cx, cy, dx, dy)),
+                Math.min(pointDistanceSquared(cx, cy, ax, ay, bx, by), pointDistanceSquared(dx, dy, ax, ay, bx, by)));
+    }
+
+    private static boolean intersects(double ax, double ay, double bx, double by,
+                                      double cx, double cy, double dx, double dy) {
+        double d1 = cross(cx, cy, dx, dy, ax, ay);
+        double d2 = cross(cx, cy, dx, dy, bx, by);
+        double d3 = cross(ax, ay, bx, by, cx, cy);
+        double d4 = cross(ax, ay, bx, by, dx, dy);
+        return ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0));
+    }
+
+    private static double cross(double ax, double ay, double bx, double by, double px, double py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    private static double pointDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        double lengthSquared = (bx - ax) * (bx - ax) + (by - ay) * (by - ay);
+        double t = lengthSquared == 0 ? 0 : ((px - ax) * (bx - ax) + (py - ay) * (by - ay)) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double x = ax + t * (bx - ax) - px;
+        double y = ay + t * (by - ay) - py;
+        return x * x + y * y;
+    }
+}
@@ -11,12 +11,17 @@ import edu.wpi.first.pathweaver.DuplicateGameException;
 import edu.wpi.first.pathweaver.Field;
 import edu.wpi.first.pathweaver.Game;
 import edu.wpi.first.pathweaver.PathUnits;
+import edu.wpi.first.pathweaver.collision.Obstacle;
+import edu.wpi.first.pathweaver.metrics.ExtensionLoadEvent;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -28,7 +33,6 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
 
 /**
  * Loads game extensions. Extensions are defined by a JSON file and an image file for the field.
@@ -43,13 +47,18 @@ import javafx.scene.image.Image;
  *     "bottom-right": [x, y]
  *   },
  *   "field-size": [width, length],
- *   "field-unit": "unit name"
+ *   "field-unit": "unit name",
+ *   "obstacles": [
+ *     [[x, y], [x, y], [x, y], ...]
+ *   ]
  * }
  * }</pre>
  * <br>The path to the field image is relative to the JSON file.
  * <br>The field corners are the X and Y coordinates of the top-left and bottom-right pixels defining the rectangular
  * boundary of the playable area in the field image. Non-rectangular playing areas are not supported.
  * <br>The field size is the width and length of the playable area of the field in the provided units.
+ * <br>The obstacles are optional. Each obstacle is a polygon given by at least three corners, in the field units,
+ * measured from the top-left corner of the playable area with y increasing down the field image.
  * <br>The field units are not case-sensitive and can be one of:
  *
  * <table>
@@ -74,6 +83,7 @@ public final class ExtensionLoader {
   public static final String BOTTOM_RIGHT_KEY = "bottom-right";
   public static final String FIELD_SIZE_KEY = "field-size";
   public static final String FIELD_UNITS_KEY = "field-unit";
+  public static final String OBSTACLES_KEY = "obstacles";
 
   /**
    * Loads a game + field image extension from a JSON file.
@@ -87,11 +97,16 @@ public final class ExtensionLoader {
       throw new IllegalArgumentException("Not a JSON file: " + jsonFile);
     }
     String json = Files.readString(jsonFile, StandardCharsets.UTF_8);
-    return loadFromJsonString(fileName -> loadImage(jsonFile.getParent(), fileName), json);
+    return load(jsonFile.toString(),
+        fileName -> toUrl(jsonFile.getParent().resolve(fileName).toAbsolutePath().toUri().toString()), json);
   }
 
-  private static Image loadImage(Path dir, String fileName) {
-    return new Image(dir.resolve(fileName).toAbsolutePath().toUri().toString());
+  private static URL toUrl(String location) {
+    try {
+      return new URL(location);
+    } catch (MalformedURLException e) {
+      throw new JsonParseException("Invalid image location: " + location, e);
+    }
   }
 
   /**
@@ -111,6 +126,10 @@ public final class ExtensionLoader {
    * @throws IllegalArgumentException if there are multiple JSON files in the directory and none named "game.json"
    */
   public Game loadFromDir(Path dir) throws IOException {
+    return loadFromJsonFile(findGameJson(dir));
+  }
+
+  private static Path findGameJson(Path dir) throws IOException {
     List<Path> possibleJsonFiles = Files.list(dir)
         .filter(path -> path.toString().endsWith(".json"))
         .collect(Collectors.toList());
@@ -123,9 +142,9 @@ public final class ExtensionLoader {
         .filter(path -> path.getFileName().toString().equals("game.json"))
         .findFirst();
     if (gameJson.isPresent()) {
-      return loadFromJsonFile(gameJson.get());
+      return gameJson.get();
     } else if (possibleJsonFiles.size() == 1) {
-      return loadFromJsonFile(possibleJsonFiles.get(0));
+      return possibleJsonFiles.get(0);
     } else {
       throw new IllegalArgumentException("Cannot determine the JSON file to use");
     }
@@ -162,7 +181,11 @@ public final class ExtensionLoader {
     }
 
     try {
-      return loadFromDir(dir);
+      Path jsonFile = findGameJson(dir);
+      String json = Files.readString(jsonFile, StandardCharsets.UTF_8);
+      // The extracted files are deleted, so the field image is read from inside the zip file when it is shown
+      String zipLocation = "jar:" + zipFile.toAbsolutePath().toUri() + "!/";
+      return load(zipFile.toString(), fileName -> toUrl(zipLocation + fileName), json);
     } finally {
       // Make sure to clean up the temp files, even if an exception is thrown when attempting to load from the temp dir
       try {
@@ -185,18 +208,30 @@ public final class ExtensionLoader {
   }
 
   /**
-   * Loads a game from a JSON string.
+   * Loads a game from a JSON string. The field image is only read when it is first shown.
    *
-   * @param imageProvider supplies an {@code Image} object given the name of an image file
-   * @param json          the JSON string to parse
+   * @param imageLocator gives the location of an image file given its name, or null if there is no image
+   * @param json         the JSON string to parse
    *
    * @return the game object defined by the JSON text
    */
-  public Game loadFromJsonString(Function<String, Image> imageProvider, String json) {
-    return new GsonBuilder()
-        .registerTypeAdapter(Game.class, new ExtensionJsonDeserializer(imageProvider))
-        .create()
-        .fromJson(json, Game.class);
+  public Game loadFromJsonString(Function<String, URL> imageLocator, String json) {
+    return load("JSON string", imageLocator, json);
+  }
+
+  private Game load(String source, Function<String, URL> imageLocator, String json) {
+    ExtensionLoadEvent event = new ExtensionLoadEvent(source);
+    event.begin();
+    Game game = null;
+    try {
+      game = new GsonBuilder()
+          .registerTypeAdapter(Game.class, new ExtensionJsonDeserializer(imageLocator))
+          .create()
+          .fromJson(json, Game.class);
+      return game;
+    } finally {
+      event.commit(game == null ? null : game.getName());
+    }
   }
 
   private static Point2D jsonArrayToPoint(JsonArray array) {
@@ -209,11 +244,30 @@ public final class ExtensionLoader {
     );
   }
 
+  private static List<Obstacle> jsonArrayToObstacles(JsonArray array) {
+    List<Obstacle> obstacles = new ArrayList<>(array.size());
+    for (JsonElement polygon : array) {
+      JsonArray corners = polygon.getAsJsonArray();
+      if (corners.size() < 3) {
+        throw new JsonParseException("Expected an obstacle with at least three corners; got " + corners);
+      }
+      double[] xs = new double[corners.size()];
+      double[] ys = new double[corners.size()];
+      for (int i = 0; i < corners.size(); i++) {
+        Point2D corner = jsonArrayToPoint(corners.get(i).getAsJsonArray());
+        xs[i] = corner.getX();
+        ys[i] = corner.getY();
+      }
+      obstacles.add(new Obstacle(xs, ys));
+    }
+    return obstacles;
+  }
+
   private static final class ExtensionJsonDeserializer implements JsonDeserializer<Game> {
-    private final Function<String, Image> imageProvider;
+    private final Function<String, URL> imageLocator;
 
-    private ExtensionJsonDeserializer(Function<String, Image> imageProvider) {
-      this.imageProvider = imageProvider;
+    private ExtensionJsonDeserializer(Function<String, URL> imageLocator) {
+      this.imageLocator = imageLocator;
     }
 
     @Override
@@ -224,10 +278,7 @@ public final class ExtensionLoader {
           .get(FIELD_IMAGE_KEY)
           .getAsString();
 
-      Image image = imageProvider.apply(imagePath);
-      if (image != null && image.isError()) {
-        throw new JsonParseException("Invalid or nonexistent image: " + imagePath, image.getException());
-      }
+      URL imageLocation = imageLocator.apply(imagePath);
 
       String gameName = jsonObject
           .get(GAME_NAME_KEY)
@@ -240,7 +291,7 @@ public final class ExtensionLoader {
       Point2D fieldSize = jsonArrayToPoint(jsonObject.get(FIELD_SIZE_KEY).getAsJsonArray());
       String fieldUnit = jsonObject.get(FIELD_UNITS_KEY).getAsString();
       Field field = new Field(
-          image,
+          imageLocation,
           PathUnits.getInstance().length(fieldUnit),
           fieldSize.getX(),
           fieldSize.getY(),
@@ -250,6 +301,15 @@ public final class ExtensionLoader {
           bottomRightPoint.getY() - topLeftPoint.getY()
       );
 
+      // Only the header of the image is read here; the image itself is decoded when it is first shown
+      if (imageLocation != null && field.getImageSize().getWidth() <= 0) {
+        throw new JsonParseException("Invalid or nonexistent image: " + imagePath);
+      }
+
+      if (jsonObject.has(OBSTACLES_KEY)) {
+        field.setObstacles(jsonArrayToObstacles(jsonObject.get(OBSTACLES_KEY).getAsJsonArray()));
+      }
+
       return Game.create(gameName, field);
     }
   }
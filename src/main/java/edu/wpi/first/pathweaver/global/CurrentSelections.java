@@ -3,6 +3,13 @@ package edu.wpi.first.pathweaver.global;
 import edu.wpi.first.pathweaver.Waypoint;
 import edu.wpi.first.pathweaver.path.Path;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+import javafx.css.PseudoClass;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
 
 /**
  * The class holding the global state for the currently selected objects.
@@ -15,6 +22,21 @@ public final class CurrentSelections {
     private static SimpleObjectProperty<Waypoint> curSplineEnd = new SimpleObjectProperty<>();
     private static SimpleObjectProperty<Waypoint> curWaypoint = new SimpleObjectProperty<>();
     private static SimpleObjectProperty<Path> curPath = new SimpleObjectProperty<>();
+    private static final PseudoClass MULTISELECTED_CLASS = PseudoClass.getPseudoClass("multiselected");
+    // Waypoints picked with the selection box or shift-click, for transforming together
+    private static final ObservableSet<Waypoint> SELECTED_WAYPOINTS =
+            FXCollections.observableSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    static {
+        SELECTED_WAYPOINTS.addListener((SetChangeListener<Waypoint>) change -> {
+            if (change.wasAdded()) {
+                change.getElementAdded().getIcon().pseudoClassStateChanged(MULTISELECTED_CLASS, true);
+            }
+            if (change.wasRemoved()) {
+                change.getElementRemoved().getIcon().pseudoClassStateChanged(MULTISELECTED_CLASS, false);
+            }
+        });
+    }
 
     private CurrentSelections() {
         throw new UnsupportedOperationException("This class holds global state!");
@@ -56,6 +78,16 @@ public final class CurrentSelections {
         CurrentSelections.curWaypoint.set(curWaypoint);
     }
 
+    /**
+     * Gets the waypoints selected for transforming together. Waypoints are compared by identity, and may
+     * belong to any of the displayed paths.
+     *
+     * @return the selected waypoints
+     */
+    public static ObservableSet<Waypoint> getSelectedWaypoints() {
+        return SELECTED_WAYPOINTS;
+    }
+
     public static Path getCurPath() {
         return curPath.get();
     }
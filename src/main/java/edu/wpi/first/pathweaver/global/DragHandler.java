@@ -2,14 +2,19 @@ package edu.wpi.first.pathweaver.global;
 
 import edu.wpi.first.pathweaver.DataFormats;
 import edu.wpi.first.pathweaver.FieldDisplayController;
+import edu.wpi.first.pathweaver.ProjectPreferences;
 import edu.wpi.first.pathweaver.SaveManager;
 import edu.wpi.first.pathweaver.Waypoint;
 import edu.wpi.first.pathweaver.path.Path;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Point2D;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TransferMode;
 import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Translate;
 
 /**
  * This class handles the drag and drop functionality for PathWeaver. Implementors should be sure that
@@ -21,6 +26,8 @@ public class DragHandler {
 
   private boolean isShiftDown = false;
   private boolean splineDragStarted = false;
+  private final Rectangle selectionBox = new Rectangle();
+  private Point2D selectionStart;
 
   /**
    * Creates the DragHandler, which sets up and manages all drag interactions for the given PathDisplayController.
@@ -32,6 +39,7 @@ public class DragHandler {
     this.controller = parent;
     this.drawPane = drawPane;
     this.setupDrag();
+    this.setupSelectionBox();
   }
 
   private void finishDrag() {
@@ -45,7 +53,10 @@ public class DragHandler {
     Path path = CurrentSelections.getCurPath();
     event.acceptTransferModes(TransferMode.MOVE);
     if (dragboard.hasContent(DataFormats.WAYPOINT)) {
-      if (isShiftDown) {
+      if (CurrentSelections.getSelectedWaypoints().size() > 1
+          && CurrentSelections.getSelectedWaypoints().contains(wp)) {
+        handleSelectionDrag(event, wp);
+      } else if (isShiftDown) {
         handlePathMoveDrag(event, path, wp);
       } else {
         handleWaypointDrag(event, path, wp);
@@ -66,6 +77,43 @@ public class DragHandler {
     });
   }
 
+  private void setupSelectionBox() {
+    selectionBox.getStyleClass().add("selection-box");
+    selectionBox.setMouseTransparent(true);
+    selectionBox.setStrokeWidth(1 / ProjectPreferences.getInstance().getField().getScale());
+    // Only presses on the empty field start a selection box; waypoints and paths handle their own
+    drawPane.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+      if (event.getTarget() == drawPane && event.isPrimaryButtonDown()) {
+        selectionStart = new Point2D(event.getX(), event.getY());
+      }
+    });
+    drawPane.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+      if (selectionStart != null) {
+        if (!drawPane.getChildren().contains(selectionBox)) {
+          drawPane.getChildren().add(selectionBox);
+        }
+        selectionBox.setX(Math.min(selectionStart.getX(), event.getX()));
+        selectionBox.setY(Math.min(selectionStart.getY(), event.getY()));
+        selectionBox.setWidth(Math.abs(event.getX() - selectionStart.getX()));
+        selectionBox.setHeight(Math.abs(event.getY() - selectionStart.getY()));
+      }
+    });
+    drawPane.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
+      if (selectionStart != null && drawPane.getChildren().remove(selectionBox)) {
+        //Convert JavaFX convention to waypoint
+        controller.selectWaypointsIn(new BoundingBox(selectionBox.getX(),
+            -selectionBox.getY() - selectionBox.getHeight(), selectionBox.getWidth(), selectionBox.getHeight()),
+            event.isShiftDown());
+      }
+      selectionStart = null;
+    });
+  }
+
+  private void handleSelectionDrag(DragEvent event, Waypoint point) {
+    // The dragged waypoint follows the cursor and the rest of the selection keeps its place around it
+    controller.transformSelection(new Translate(event.getX() - point.getX(), -event.getY() - point.getY()));
+  }
+
   private void handleWaypointDrag(DragEvent event, Path path, Waypoint point) {
     if (controller.checkBounds(event.getX(), 0)) {
       point.setX(event.getX());
@@ -75,7 +123,7 @@ public class DragHandler {
     }
     if (controller.checkBounds(event.getX(), 0) || controller.checkBounds(0, -event.getY())) {
       path.recalculateTangents(point);
-      path.update();
+      path.requestUpdate();
     }
     CurrentSelections.getCurPath().selectWaypoint(point);
   }
@@ -123,6 +171,6 @@ public class DragHandler {
       changedPoint.setY(wpNewY);
     }
 
-    path.update();
+    path.requestUpdate();
   }
 }
@@ -0,0 +1,38 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.wpi.first.pathweaver.ExtensionLoad")
+@Label("Extension Load")
+@Description("Loading a game extension and its field image.")
+@Category("PathWeaver")
+public class ExtensionLoadEvent extends Event {
+    @SuppressWarnings("PMD.ImmutableField") // Flight Recorder fields may not be final
+    @Label("Source")
+    private String source;
+
+    @Label("Game Name")
+    private String gameName;
+
+    public ExtensionLoadEvent(String source) {
+        super();
+        this.source = source;
+    }
+
+    /**
+     * Ends the timing of this event and records it with the game that was loaded.
+     *
+     * @param gameName the name of the loaded game, or null if loading failed
+     */
+    public void commit(String gameName) {
+        end();
+        if (shouldCommit()) {
+            this.gameName = gameName;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight timing counters for the editor, I/O and export code. Code under measurement takes a
+ * timestamp with {@link #start()} and reports it with {@link #record(String, long)} when done. Readers such as
+ * the performance overlay periodically call {@link #drain()} to collect what happened since the last read.
+ */
+public final class Metrics {
+    public static final String PATH_UPDATE = "Path update";
+    public static final String SPLINE_UPDATE = "Spline update";
+    public static final String PATH_IMPORT = "Path import";
+    public static final String PATH_EXPORT = "Path export";
+    public static final String TRAJECTORY_GENERATION = "Trajectory generation";
+
+    private static final Map<String, Accumulator> ACCUMULATORS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Takes the start timestamp of an operation.
+     *
+     * @return the timestamp to later pass to {@link #record(String, long)}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records one call of an operation that started at the given timestamp and ends now.
+     *
+     * @param name       the name of the operation
+     * @param startNanos the timestamp returned by {@link #start()}
+     */
+    public static void record(String name, long startNanos) {
+        ACCUMULATORS.computeIfAbsent(name, key -> new Accumulator()).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Collects the timings recorded since the last call, resetting them.
+     *
+     * @return the timings of every operation seen so far, sorted by name
+     */
+    public static Map<String, Timing> drain() {
+        Map<String, Timing> timings = new TreeMap<>();
+        ACCUMULATORS.forEach((name, accumulator) -> timings.put(name, accumulator.drain()));
+        return timings;
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private synchronized Timing drain() {
+            Timing timing = new Timing(count, totalNanos, maxNanos);
+            count = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+            return timing;
+        }
+    }
+}
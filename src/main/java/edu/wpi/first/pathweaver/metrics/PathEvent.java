@@ -0,0 +1,33 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class for the Flight Recorder events emitted while working on a single path. Subclasses are
+ * timed with {@link #begin()} and finished with {@link #commit(String, int)}.
+ */
+@Category("PathWeaver")
+public abstract class PathEvent extends Event {
+    @Label("Path Name")
+    protected String pathName;
+
+    @Label("Waypoint Count")
+    protected int waypointCount;
+
+    /**
+     * Ends the timing of this event and records it with the path it applies to.
+     *
+     * @param pathName      the name of the path
+     * @param waypointCount the number of waypoints in the path
+     */
+    public void commit(String pathName, int waypointCount) {
+        end();
+        if (shouldCommit()) {
+            this.pathName = pathName;
+            this.waypointCount = waypointCount;
+            commit();
+        }
+    }
+}
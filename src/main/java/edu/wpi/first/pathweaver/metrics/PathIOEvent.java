@@ -0,0 +1,19 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.wpi.first.pathweaver.PathIO")
+@Label("Path I/O")
+@Description("Reading or writing a path file.")
+public class PathIOEvent extends PathEvent {
+    @SuppressWarnings("PMD.ImmutableField") // Flight Recorder fields may not be final
+    @Label("Operation")
+    private String operation;
+
+    public PathIOEvent(String operation) {
+        super();
+        this.operation = operation;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.wpi.first.pathweaver.SplineUpdate")
+@Label("Spline Update")
+@Description("Recomputation of the drawn spline of a path.")
+public class SplineUpdateEvent extends PathEvent {
+}
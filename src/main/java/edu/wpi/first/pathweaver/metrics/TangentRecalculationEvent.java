@@ -0,0 +1,11 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.wpi.first.pathweaver.TangentRecalculation")
+@Label("Tangent Recalculation")
+@Description("Recalculation of the automatic tangents around a moved waypoint.")
+public class TangentRecalculationEvent extends PathEvent {
+}
@@ -0,0 +1,41 @@
+package edu.wpi.first.pathweaver.metrics;
+
+/**
+ * An immutable summary of the calls recorded for one instrumented operation.
+ *
+ * @see Metrics
+ */
+public final class Timing {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    Timing(long count, long totalNanos, long maxNanos) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / NANOS_PER_MILLI;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the mean duration of the recorded calls.
+     *
+     * @return the average call duration in milliseconds, or 0 if nothing was recorded
+     */
+    public double getAverageMillis() {
+        return count == 0 ? 0 : getTotalMillis() / count;
+    }
+}
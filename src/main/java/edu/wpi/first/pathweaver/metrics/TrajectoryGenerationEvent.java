@@ -0,0 +1,11 @@
+package edu.wpi.first.pathweaver.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("edu.wpi.first.pathweaver.TrajectoryGeneration")
+@Label("Trajectory Generation")
+@Description("Generation and export of the trajectory for a path.")
+public class TrajectoryGenerationEvent extends PathEvent {
+}
@@ -2,23 +2,30 @@ package edu.wpi.first.pathweaver.path;
 
 import com.sun.javafx.collections.ObservableListWrapper;
 import edu.wpi.first.pathweaver.Field;
-import edu.wpi.first.pathweaver.FxUtils;
 import edu.wpi.first.pathweaver.ProjectPreferences;
 import edu.wpi.first.pathweaver.Waypoint;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
+import edu.wpi.first.pathweaver.metrics.Metrics;
+import edu.wpi.first.pathweaver.metrics.TangentRecalculationEvent;
 import edu.wpi.first.pathweaver.spline.Spline;
 import edu.wpi.first.pathweaver.spline.SplineFactory;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
+import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.Group;
-import javafx.scene.control.Alert;
-import javafx.scene.layout.Pane;
+import javafx.scene.transform.Transform;
 
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -51,11 +58,15 @@ public abstract class Path {
 
     protected final Field field = ProjectPreferences.getInstance().getField();
     protected final ObservableList<Waypoint> waypoints = new ObservableListWrapper<>(new ArrayList<>());
+    // The position of each waypoint by identity, rebuilt whenever waypoints are added or removed
+    private final Map<Waypoint, Integer> waypointIndices = new IdentityHashMap<>();
     protected Group mainGroup = new Group();
 
     protected final Spline spline;
     protected final String pathName;
     protected int subchildIdx = 0;
+    private final ReadOnlyLongWrapper revision = new ReadOnlyLongWrapper();
+    private boolean updateRequested;
 
     /**
      * Creates a Path from a {@link SplineFactory} and the name of the path.
@@ -71,6 +82,29 @@ public abstract class Path {
         return waypoints;
     }
 
+    /**
+     * Finds a waypoint of this path in constant time. Unlike {@code getWaypoints().indexOf(wp)}, waypoints
+     * are compared by identity, so an equal waypoint from another path is not found.
+     *
+     * @param wp the waypoint to find
+     * @return the index of the waypoint, or -1 if it is not part of this path
+     */
+    public int indexOf(Waypoint wp) {
+        Integer index = waypointIndices.get(wp);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Rebuilds the index used by {@link #indexOf(Waypoint)}. Implementors must call this from a listener
+     * on {@link #waypoints}, before anything else reacts to the change.
+     */
+    protected final void indexWaypoints() {
+        waypointIndices.clear();
+        for (int i = 0; i < waypoints.size(); i++) {
+            waypointIndices.put(waypoints.get(i), i);
+        }
+    }
+
     /**
      * Duplicates the current path, returning a new Path with no shared state.
      * Implementors are highly encouraged to return Self with this method in order
@@ -96,7 +130,33 @@ public abstract class Path {
      * Updates this path to reflect new waypoint data.
      */
     public void update() {
+        long start = Metrics.start();
         spline.update();
+        revision.set(revision.get() + 1);
+        Metrics.record(Metrics.PATH_UPDATE, start);
+    }
+
+    /**
+     * Updates this path once the current batch of events has been handled, however many times this is
+     * called before then. Must be called on the JavaFX application thread.
+     */
+    public void requestUpdate() {
+        if (!updateRequested) {
+            updateRequested = true;
+            Platform.runLater(() -> {
+                updateRequested = false;
+                update();
+            });
+        }
+    }
+
+    /**
+     * A counter that is incremented every time this path is updated, for views that follow the path's shape.
+     *
+     * @return the update counter
+     */
+    public ReadOnlyLongProperty revisionProperty() {
+        return revision.getReadOnlyProperty();
     }
 
     public final Waypoint getStart() {
@@ -134,14 +194,13 @@ public abstract class Path {
     }
 
     public Waypoint addWaypoint(Point2D coordinates, Waypoint start, Waypoint end) {
-        for (int i = 1; i < waypoints.size(); i++) {
-            if (waypoints.get(i - 1).equals(start) && waypoints.get(i).equals(end)) {
-                Waypoint toAdd = new Waypoint(coordinates, new Point2D(0, 0), false, start.isReversed());
-                waypoints.add(i, toAdd);
-
-                updateTangent(toAdd);
-                return toAdd;
-            }
+        int i = indexOf(start) + 1;
+        if (i > 0 && i < waypoints.size() && waypoints.get(i) == end) {
+            Waypoint toAdd = new Waypoint(coordinates, new Point2D(0, 0), false, start.isReversed());
+            waypoints.add(i, toAdd);
+
+            updateTangent(toAdd);
+            return toAdd;
         }
         throw new AssertionError("Endpoints provided are invalid segment");
     }
@@ -152,7 +211,9 @@ public abstract class Path {
      * @param wp the waypoint to recalculate tangents for
      */
     public void recalculateTangents(Waypoint wp) {
-        int curWpIndex = getWaypoints().indexOf(wp);
+        TangentRecalculationEvent event = new TangentRecalculationEvent();
+        event.begin();
+        int curWpIndex = indexOf(wp);
 
         if (curWpIndex - 1 > 0) {
             Waypoint previous = getWaypoints().get(curWpIndex - 1);
@@ -165,6 +226,20 @@ public abstract class Path {
             Waypoint next = getWaypoints().get(curWpIndex + 1);
             updateTangent(next);
         }
+        event.commit(pathName, waypoints.size());
+    }
+
+    /**
+     * Recalculate the tangents of every waypoint of this path, for edits that move many waypoints at once.
+     * This implementation calls {@link #updateTangent(Waypoint)} on each waypoint.
+     */
+    public void recalculateAllTangents() {
+        TangentRecalculationEvent event = new TangentRecalculationEvent();
+        event.begin();
+        for (Waypoint wp : waypoints) {
+            updateTangent(wp);
+        }
+        event.commit(pathName, waypoints.size());
     }
 
     /**
@@ -233,61 +308,69 @@ public abstract class Path {
      * @return whether the remove succeeded or not
      */
     public boolean removeWaypoint(Waypoint waypoint) {
-        if (waypoints.size() > 2) {
-            return waypoints.remove(waypoint);
+        int index = indexOf(waypoint);
+        if (waypoints.size() > 2 && index >= 0) {
+            waypoints.remove(index);
+            CurrentSelections.getSelectedWaypoints().remove(waypoint);
+            return true;
         }
         return false;
     }
 
     /**
-     * Reflects the Path across an axis.
-     * The coordinate system's origin is the starting point of the Path.
+     * Moves some waypoints of this path by an affine transform in one mutation. Positions are mapped by the
+     * whole transform and tangents by its linear part; tangents that are not locked are then optimized
+     * again, and the path is updated once.
      *
-     * @param horizontal Flip over horizontal axis?
-     * @param drawPane   Pane to check validity of new points.
+     * @param selected  the waypoints to move, all part of this path
+     * @param transform the transform, in waypoint coordinates
+     * @param bounds    the area the moved waypoints must stay within, in waypoint coordinates
+     * @return false if a waypoint would leave the bounds, in which case nothing is moved
      */
-    public void flip(boolean horizontal, Pane drawPane) {
-        // Check if any new points are outside drawPane
-        for (Waypoint wp : waypoints) {
-            if (!drawPane.contains(reflectPoint(getStart(), wp, horizontal, false))) {
-                Alert a = new Alert(Alert.AlertType.INFORMATION);
-                FxUtils.applyDarkMode(a);
-                a.setTitle("");
-                a.setHeaderText("The path could not be flipped.");
-                a.setContentText("Flipping this path would cause it to go out of bounds");
-                a.showAndWait();
-                return; // The new path is invalid
-            }
-        }
-        // New waypoints are valid, update all Waypoints
-        for (Waypoint wp : waypoints) {
-            Point2D reflectedPos = reflectPoint(getStart(), wp, horizontal, false);
-            Point2D reflectedTangent = reflectPoint(getStart(), wp, horizontal, true);
-            wp.setX(reflectedPos.getX());
-            wp.setY(reflectedPos.getY());
-            wp.setTangent(reflectedTangent);
+    public boolean transformWaypoints(Collection<Waypoint> selected, Transform transform, Bounds bounds) {
+        if (!PathTransforms.fits(selected, transform, bounds)) {
+            return false;
         }
+        transformWaypoints(selected, transform);
+        return true;
     }
 
-    private Point2D reflectPoint(Waypoint start, Waypoint point, boolean horizontal, boolean tangent) {
-        Point2D coords;
-        Point2D minus;
-        if (tangent) {
-            coords = point.getTangent();
-            if (horizontal) {
-                minus = new Point2D(coords.getX() * 2.0, 0.0);
-            } else {
-                minus = new Point2D(0.0, coords.getY() * 2.0);
-            }
-            return coords.subtract(minus);
-        } else {
-            coords = point.getCoords();
-            if (horizontal) {
-                minus = new Point2D(point.relativeTo(start).getX() * 2.0, 0.0);
-            } else {
-                minus = new Point2D(0.0, point.relativeTo(start).getY() * 2.0);
-            }
-            return coords.subtract(minus);
+    /**
+     * Moves some waypoints of this path by an affine transform in one mutation, without checking where they
+     * end up.
+     *
+     * @param selected  the waypoints to move, all part of this path
+     * @param transform the transform, in waypoint coordinates
+     * @see #transformWaypoints(Collection, Transform, Bounds)
+     */
+    public void transformWaypoints(Collection<Waypoint> selected, Transform transform) {
+        double mxx = transform.getMxx();
+        double mxy = transform.getMxy();
+        double myx = transform.getMyx();
+        double myy = transform.getMyy();
+        for (Waypoint wp : selected) {
+            double x = wp.getX();
+            double y = wp.getY();
+            double tangentX = wp.getTangentX();
+            double tangentY = wp.getTangentY();
+            wp.setX(mxx * x + mxy * y + transform.getTx());
+            wp.setY(myx * x + myy * y + transform.getTy());
+            wp.setTangentX(mxx * tangentX + mxy * tangentY);
+            wp.setTangentY(myx * tangentX + myy * tangentY);
         }
+        recalculateAllTangents();
+        requestUpdate();
+    }
+
+    /**
+     * Reflects the Path across an axis.
+     * The coordinate system's origin is the starting point of the Path.
+     *
+     * @param horizontal Flip over horizontal axis?
+     * @param bounds     The area the flipped path must stay within, in waypoint coordinates.
+     * @return false if the flipped path would leave the bounds, in which case it is not flipped
+     */
+    public boolean flip(boolean horizontal, Bounds bounds) {
+        return transformWaypoints(waypoints, PathTransforms.flip(getStart(), horizontal), bounds);
     }
 }
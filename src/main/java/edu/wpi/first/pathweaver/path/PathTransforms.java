@@ -0,0 +1,111 @@
+package edu.wpi.first.pathweaver.path;
+
+import edu.wpi.first.pathweaver.Waypoint;
+import javafx.geometry.Bounds;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Transform;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geometric transforms of whole paths, such as flipping them or mirroring them to the other alliance. A
+ * transform is validated for every waypoint it moves with one bounding box check before anything is
+ * moved, so it either applies to all paths or to none.
+ *
+ * @see Path#transformWaypoints(Collection, Transform)
+ */
+public final class PathTransforms {
+    private PathTransforms() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Creates a reflection of a path across an axis through its start point.
+     *
+     * @param start      the first waypoint of the path
+     * @param horizontal true to reflect across the vertical axis, so that x changes, false to reflect
+     *                   across the horizontal axis
+     * @return the reflection
+     */
+    public static Transform flip(Waypoint start, boolean horizontal) {
+        return new Scale(horizontal ? -1 : 1, horizontal ? 1 : -1, start.getX(), start.getY());
+    }
+
+    /**
+     * Creates a reflection across the center line of the field, which moves paths to the other alliance on
+     * fields that are mirrored between alliances.
+     *
+     * @param field the field, in waypoint coordinates
+     * @return the reflection
+     */
+    public static Transform mirrorAlliance(Bounds field) {
+        return new Scale(-1, 1, field.getCenterX(), field.getCenterY());
+    }
+
+    /**
+     * Creates a half turn about the center of the field, which moves paths to the other alliance on fields
+     * that are rotationally symmetric.
+     *
+     * @param field the field, in waypoint coordinates
+     * @return the rotation
+     */
+    public static Transform rotateAlliance(Bounds field) {
+        return new Rotate(180, field.getCenterX(), field.getCenterY());
+    }
+
+    /**
+     * Checks whether waypoints stay within an area after a transform.
+     *
+     * @param waypoints the waypoints to move
+     * @param transform the transform, in waypoint coordinates
+     * @param bounds    the area the moved waypoints must stay within
+     * @return true if every moved waypoint is within the bounds; false if there are no waypoints
+     */
+    public static boolean fits(Iterable<Waypoint> waypoints, Transform transform, Bounds bounds) {
+        return fitsAll(List.of(waypoints), transform, bounds);
+    }
+
+    /**
+     * Moves waypoints of several paths by one transform. Nothing is moved unless every waypoint stays within
+     * the bounds, and each path is updated once.
+     *
+     * @param waypointsByPath the waypoints to move of each path
+     * @param transform       the transform, in waypoint coordinates
+     * @param bounds          the area the moved waypoints must stay within
+     * @return true if the waypoints were moved
+     */
+    public static boolean transformAll(Map<Path, ? extends Collection<Waypoint>> waypointsByPath,
+                                       Transform transform, Bounds bounds) {
+        if (!fitsAll(waypointsByPath.values(), transform, bounds)) {
+            return false;
+        }
+        waypointsByPath.forEach((path, waypoints) -> path.transformWaypoints(waypoints, transform));
+        return true;
+    }
+
+    private static boolean fitsAll(Collection<? extends Iterable<Waypoint>> groups, Transform transform,
+                                   Bounds bounds) {
+        double mxx = transform.getMxx();
+        double mxy = transform.getMxy();
+        double myx = transform.getMyx();
+        double myy = transform.getMyy();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Iterable<Waypoint> group : groups) {
+            for (Waypoint wp : group) {
+                double x = mxx * wp.getX() + mxy * wp.getY() + transform.getTx();
+                double y = myx * wp.getX() + myy * wp.getY() + transform.getTy();
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        return minX <= maxX && bounds.contains(minX, minY, maxX - minX, maxY - minY);
+    }
+}
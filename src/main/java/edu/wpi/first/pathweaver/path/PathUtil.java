@@ -9,6 +9,8 @@ import javafx.geometry.Point2D;
  * @see Path
  */
 public final class PathUtil {
+    private static final double SQRT_3 = Math.sqrt(3);
+
     private PathUtil() {
         throw new UnsupportedOperationException("This is a utility class!");
     }
@@ -23,35 +25,58 @@ public final class PathUtil {
      * @param p3 the Point2d representing the coordinates of the waypoint after this one
      * @return the a Point2d representing the lengths of the tangent line of this waypoint
      */
-
     public static Point2D rawThetaOptimization(Point2D p1, Point2D p2, Point2D p3) {
-        Point2D p1Scaled = new Point2D(0, 0);
-        Point2D p2Scaled = p2.subtract(p1).multiply(1 / p3.distance(p1));
-        Point2D p3Shifted = p3.subtract(p1);
-        Point2D p3Scaled = p3Shifted.multiply(1 / p3.distance(p1)); // scale
+        double[] tangent = new double[2];
+        rawThetaOptimization(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY(), tangent, 0);
+        return new Point2D(tangent[0], tangent[1]);
+    }
 
-        //refactor later
-        // Point2D q = new Point2D(0, 0); // for reference
-        Point2D r = new Point2D(p2Scaled.getX() * p3Scaled.getX() + p2Scaled.getY() * p3Scaled.getY(),
-                -p2Scaled.getX() * p3Scaled.getY() + p2Scaled.getY() * p3Scaled.getX());
-        // Point2D s = new Point2D(1, 0); // for reference
+    /**
+     * Calculates the optimal tangent line of a waypoint like {@link #rawThetaOptimization(Point2D, Point2D, Point2D)},
+     * without allocating.
+     *
+     * @param x1      the x coordinate of the waypoint before this one
+     * @param y1      the y coordinate of the waypoint before this one
+     * @param x2      the x coordinate of this waypoint
+     * @param y2      the y coordinate of this waypoint
+     * @param x3      the x coordinate of the waypoint after this one
+     * @param y3      the y coordinate of the waypoint after this one
+     * @param tangent receives the x and y lengths of the tangent line
+     * @param offset  the index in tangent to write the x length to, followed by the y length
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    public static void rawThetaOptimization(double x1, double y1, double x2, double y2, double x3, double y3,
+                                            double[] tangent, int offset) {
+        // Shift p1 to the origin, then scale so that p3 is a unit distance away
+        double dx2 = x2 - x1;
+        double dy2 = y2 - y1;
+        double dx3 = x3 - x1;
+        double dy3 = y3 - y1;
+        double scale = 1 / Math.sqrt(dx3 * dx3 + dy3 * dy3);
+        double p2x = dx2 * scale;
+        double p2y = dy2 * scale;
+        double p3x = dx3 * scale;
+        double p3y = dy3 * scale;
 
-        double beta = 1 - 2 * r.getX();
-        double gamma = Math.pow(4 * (r.getX() - Math.pow(r.distance(p1Scaled), 2)) - 3, 3) / 27;
-        double lambda = Math.pow(-gamma, 1.0 / 6.0);
+        // Rotate so that p3 lies at (1, 0); the paper's q is the origin and s is (1, 0)
+        double rx = p2x * p3x + p2y * p3y;
+        double ry = -p2x * p3y + p2y * p3x;
 
-        double sqrtGamma = Math.sqrt(-gamma - Math.pow(beta, 2));
-        double phi1 = Math.atan2(sqrtGamma, beta) / 3;
-        double ur = lambda * Math.cos(phi1);
-        double ui = lambda * Math.sin(phi1);
-        double phi2 = Math.atan2(-sqrtGamma, beta) / 3;
+        double beta = 1 - 2 * rx;
+        double cubeBase = 4 * (rx - (rx * rx + ry * ry)) - 3;
+        double gamma = cubeBase * cubeBase * cubeBase / 27;
+        // The sixth root of -gamma, since the cube root of -gamma is -cubeBase / 3
+        double lambda = Math.sqrt(-cubeBase / 3);
 
-        double zr = lambda * Math.cos(phi2);
-        double zi = lambda * Math.sin(phi2);
+        double sqrtGamma = Math.sqrt(-gamma - beta * beta);
+        // The second cube root is the conjugate of the first, so zr = ur and zi = -ui
+        double phi = Math.atan2(sqrtGamma, beta) / 3;
+        double ur = lambda * Math.cos(phi);
+        double ui = lambda * Math.sin(phi);
 
-        double t1 = 1.0 / 2 + ur + zr / 2;
-        double t2 = 1.0 / 2 - (1.0 / 4) * (ur + zr + Math.sqrt(3) * (ui - zi));
-        double t3 = 1.0 / 2 - (1.0 / 4) * (ur + zr - Math.sqrt(3) * (ui - zi));
+        double t1 = 0.5 + 1.5 * ur;
+        double t2 = 0.5 - 0.5 * (ur + SQRT_3 * ui);
+        double t3 = 0.5 - 0.5 * (ur - SQRT_3 * ui);
 
         double t;
         if (t1 > 0 && t1 < 1) {
@@ -62,9 +87,28 @@ public final class PathUtil {
             t = t3;
         }
 
-        Point2D a1 = p2.subtract(p1).subtract(p3Shifted.multiply(t)).multiply(1 / (t * t - t));
-        Point2D a2 = p3Shifted.subtract(a1);
+        double a1Scale = 1 / (t * t - t);
+        double a1x = (dx2 - dx3 * t) * a1Scale;
+        double a1y = (dy2 - dy3 * t) * a1Scale;
+        double a2x = dx3 - a1x;
+        double a2y = dy3 - a1y;
 
-        return a1.multiply(2 * t).add(a2).multiply(1. / 3);
+        tangent[offset] = (a1x * 2 * t + a2x) / 3;
+        tangent[offset + 1] = (a1y * 2 * t + a2y) / 3;
+    }
+
+    /**
+     * Calculates the optimal tangent lines of every interior waypoint of a path in one pass. The first
+     * and last waypoints have no neighbours on both sides, so their tangents are left untouched.
+     *
+     * @param xs       the x coordinates of the waypoints
+     * @param ys       the y coordinates of the waypoints
+     * @param count    the number of waypoints
+     * @param tangents receives the x and y lengths of each tangent line, alternating
+     */
+    public static void rawThetaOptimization(double[] xs, double[] ys, int count, double[] tangents) {
+        for (int i = 1; i < count - 1; i++) {
+            rawThetaOptimization(xs[i - 1], ys[i - 1], xs[i], ys[i], xs[i + 1], ys[i + 1], tangents, i * 2);
+        }
     }
 }
@@ -2,6 +2,7 @@ package edu.wpi.first.pathweaver.path.wpilib;
 
 import edu.wpi.first.pathweaver.*;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
+import edu.wpi.first.pathweaver.metrics.TangentRecalculationEvent;
 import edu.wpi.first.pathweaver.path.Path;
 import edu.wpi.first.pathweaver.path.PathUtil;
 import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
@@ -18,11 +19,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class WpilibPath extends Path {
     private final Group iconGroup = new Group();
     private final Group tangentGroup = new Group();
+    // Scratch buffers for tangent optimization, only used on the thread that edits the path
+    private final double[] tangent = new double[2];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private double[] tangents = new double[0];
 
     /**
      * Path constructor based on a known list of points.
@@ -34,6 +41,7 @@ public class WpilibPath extends Path {
     public WpilibPath(List<Waypoint> points, String name) {
         super(WpilibSpline::new, name);
         this.waypoints.addListener((ListChangeListener<Waypoint>) c -> {
+            indexWaypoints();
             Waypoint first = this.waypoints.get(0);
             while (c.next()) {
                 for (Waypoint wp : c.getAddedSubList()) {
@@ -83,7 +91,13 @@ public class WpilibPath extends Path {
 
     private void setupClick(Waypoint waypoint) {
         waypoint.getIcon().setOnMouseClicked(e -> {
-            if (e.getClickCount() == 1) {
+            if (e.getClickCount() == 1 && e.isShiftDown()) {
+                Set<Waypoint> selected = CurrentSelections.getSelectedWaypoints();
+                if (!selected.remove(waypoint)) {
+                    selected.add(waypoint);
+                }
+            } else if (e.getClickCount() == 1) {
+                CurrentSelections.getSelectedWaypoints().clear();
                 toggleWaypoint(waypoint);
             } else if (e.getClickCount() == 2) {
                 waypoint.setLockTangent(false);
@@ -101,13 +115,14 @@ public class WpilibPath extends Path {
     }
 
     /**
-     * This implementation calls {@link PathUtil#rawThetaOptimization(Point2D, Point2D, Point2D)} to update the tangent line.
+     * This implementation calls {@link PathUtil#rawThetaOptimization(double, double, double, double, double, double,
+     * double[], int)} to update the tangent line.
      * 
      * @param wp the waypoint to update the tangent line for.
      */
     @Override
     protected void updateTangent(Waypoint wp) {
-        int curWpIndex = getWaypoints().indexOf(wp);
+        int curWpIndex = indexOf(wp);
         if (curWpIndex - 1 < 0 || curWpIndex + 1 >= waypoints.size() || wp.isLockTangent()) {
             return;
         }
@@ -115,11 +130,42 @@ public class WpilibPath extends Path {
         Waypoint previous = getWaypoints().get(curWpIndex - 1);
         Waypoint next = getWaypoints().get(curWpIndex + 1);
 
-        Point2D wpTangent = PathUtil.rawThetaOptimization(previous.getCoords(), wp.getCoords(), next.getCoords());
-        if (wp.isReversed()) {
-            wpTangent = wpTangent.multiply(-1);
+        PathUtil.rawThetaOptimization(previous.getX(), previous.getY(), wp.getX(), wp.getY(),
+                next.getX(), next.getY(), tangent, 0);
+        setTangent(wp, tangent, 0);
+    }
+
+    /**
+     * This implementation optimizes the tangents of all unlocked waypoints in a single pass.
+     */
+    @Override
+    public void recalculateAllTangents() {
+        TangentRecalculationEvent event = new TangentRecalculationEvent();
+        event.begin();
+        int count = waypoints.size();
+        if (xs.length < count) {
+            xs = new double[count];
+            ys = new double[count];
+            tangents = new double[count * 2];
         }
-        wp.setTangent(wpTangent);
+        for (int i = 0; i < count; i++) {
+            xs[i] = waypoints.get(i).getX();
+            ys[i] = waypoints.get(i).getY();
+        }
+        PathUtil.rawThetaOptimization(xs, ys, count, tangents);
+        for (int i = 1; i < count - 1; i++) {
+            Waypoint wp = waypoints.get(i);
+            if (!wp.isLockTangent()) {
+                setTangent(wp, tangents, i * 2);
+            }
+        }
+        event.commit(pathName, count);
+    }
+
+    private static void setTangent(Waypoint wp, double[] tangent, int offset) {
+        double sign = wp.isReversed() ? -1 : 1;
+        wp.setTangentX(tangent[offset] * sign);
+        wp.setTangentY(tangent[offset + 1] * sign);
     }
 
     private void setupWaypoint(Waypoint waypoint) {
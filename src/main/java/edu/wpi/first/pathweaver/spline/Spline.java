@@ -1,6 +1,7 @@
 package edu.wpi.first.pathweaver.spline;
 
 import edu.wpi.first.pathweaver.global.CurrentSelections;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import javafx.scene.Group;
 
 import java.nio.file.Path;
@@ -57,6 +58,13 @@ public interface Spline {
    */
   void removeFromGroup(Group splineGroup);
 
+  /**
+   * Generates the trajectory for this spline, in the project's export units and field coordinates.
+   * This may be called from threads other than the JavaFX thread.
+   * @return the generated trajectory, or null if it could not be generated
+   */
+  Trajectory generateTrajectory();
+
   /**
    * Serialize this path to a file for use in the robot.
    * @param path the path of the file to write to
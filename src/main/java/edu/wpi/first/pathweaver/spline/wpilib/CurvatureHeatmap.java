@@ -0,0 +1,64 @@
+package edu.wpi.first.pathweaver.spline.wpilib;
+
+import edu.wpi.first.pathweaver.ProjectPreferences;
+
+import java.util.Locale;
+
+/**
+ * Colors spline segments by how hard they are to drive. Segments are shaded from green to orange as their
+ * curvature, or the speed their curvature forces the robot down to, approaches the project's limits.
+ * Segments that exceed the maximum curvature or would exceed the maximum lateral acceleration at full speed
+ * are drawn in magenta.
+ */
+public final class CurvatureHeatmap {
+    /**
+     * What the heatmap shows.
+     */
+    public enum Mode {
+        OFF, CURVATURE, VELOCITY;
+
+        /**
+         * Gets the mode after this one, wrapping back to {@link #OFF}.
+         */
+        public Mode next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+    }
+
+    private static final String VIOLATION_STYLE = "-fx-stroke: magenta;";
+    private static volatile Mode mode = Mode.OFF;
+
+    private CurvatureHeatmap() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode mode) {
+        CurvatureHeatmap.mode = mode;
+    }
+
+    /**
+     * Gets the inline style for a segment in the current mode.
+     *
+     * @param maxCurvature the largest curvature of the segment, in radians per project unit
+     * @return the style, which is empty when the heatmap is off
+     */
+    public static String style(double maxCurvature) {
+        Mode current = mode;
+        if (current == Mode.OFF) {
+            return "";
+        }
+        ProjectPreferences.Values values = ProjectPreferences.getInstance().getValues();
+        double velocityLimit = Math.sqrt(values.getMaxLateralAcceleration() / maxCurvature);
+        if (maxCurvature > values.getMaxCurvature() || velocityLimit < values.getMaxVelocity()) {
+            return VIOLATION_STYLE;
+        }
+        double severity = current == Mode.CURVATURE ? maxCurvature / values.getMaxCurvature()
+                : values.getMaxVelocity() / velocityLimit;
+        // Hue 120 is green and 30 is orange, leaving red for collisions and magenta for violations
+        return String.format(Locale.ROOT, "-fx-stroke: hsb(%.0f, 90%%, 95%%);", 120 - 90 * severity);
+    }
+}
@@ -0,0 +1,383 @@
+package edu.wpi.first.pathweaver.spline.wpilib;
+
+import edu.wpi.first.pathweaver.BoundedCache;
+import edu.wpi.first.pathweaver.PathUnits;
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.Waypoint;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryParameterizer;
+
+import javax.measure.UnitConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The sampled points of a path's splines, in export units. The points depend only on the waypoints and
+ * the project's units, so one parameterized spline can be timed under any number of velocity and
+ * acceleration limits without sampling the splines again. The editor draws the same points, so a path
+ * that is already on screen can be exported without sampling it a second time.
+ */
+public final class ParameterizedSpline {
+    private static final Logger LOGGER = Logger.getLogger(ParameterizedSpline.class.getName());
+    // Splines of freshly loaded paths, shared by every path and project with the same waypoints and units
+    private static final BoundedCache<CacheKey, ParameterizedSpline> LOADED = new BoundedCache<>(128);
+    // Paths are parameterized from the editor and from the build's worker threads
+    private static final ThreadLocal<SegmentSampler> SAMPLERS = ThreadLocal.withInitial(SegmentSampler::new);
+
+    private final double[] waypointValues;
+    private final List<PoseWithCurvature> points;
+    private final int[] segmentStarts;
+    private final Object[] segmentIds;
+    private final boolean reversed;
+    private final double heightOffset;
+    private final double unitScale;
+
+    private ParameterizedSpline(double[] waypointValues, List<PoseWithCurvature> points, int[] segmentStarts,
+                                Object[] segmentIds, boolean reversed, double heightOffset, double unitScale) {
+        this.waypointValues = waypointValues;
+        this.points = points;
+        this.segmentStarts = segmentStarts;
+        this.segmentIds = segmentIds;
+        this.reversed = reversed;
+        this.heightOffset = heightOffset;
+        this.unitScale = unitScale;
+    }
+
+    /**
+     * Samples the splines through the given waypoints, the same way the trajectory generator does.
+     *
+     * @param waypoints the waypoints of the path, in project units
+     * @return the parameterized spline, or null if the waypoints do not form a valid spline
+     */
+    public static ParameterizedSpline of(List<Waypoint> waypoints) {
+        return of(waypoints, null);
+    }
+
+    /**
+     * Samples the splines through the given waypoints, reusing the samples of every segment whose two
+     * waypoints are unchanged since an earlier parameterization. Dragging a waypoint only resamples the
+     * segments next to it, however long the path is.
+     *
+     * @param waypoints the waypoints of the path, in project units
+     * @param previous  an earlier parameterization of the same path, or null
+     * @return the parameterized spline, or null if the waypoints do not form a valid spline
+     */
+    public static ParameterizedSpline of(List<Waypoint> waypoints, ParameterizedSpline previous) {
+        ExportUnits units = ExportUnits.current();
+        double height = units.heightOffset;
+        double unitScale = units.unitScale;
+
+        double[] values = valuesOf(waypoints);
+        CacheKey key = previous == null ? new CacheKey(values, height, unitScale) : null;
+        if (key != null) {
+            ParameterizedSpline loaded = LOADED.get(key);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        boolean reversed = waypoints.get(0).isReversed();
+        boolean reusable = previous != null && previous.unitScale == unitScale && previous.reversed == reversed;
+        // Sampled like TrajectoryGenerator.splinePointsFromSplines, but remembering where each segment starts
+        int segmentCount = Math.max(waypoints.size() - 1, 0);
+        List<PoseWithCurvature> points = new ArrayList<>();
+        int[] segmentStarts = new int[segmentCount + 1];
+        Object[] segmentIds = new Object[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int previousSegment = reusable ? previous.findSegment(values, i) : -1;
+            List<PoseWithCurvature> samples = previousSegment < 0
+                    ? sampleSegment(waypoints.get(i), waypoints.get(i + 1), reversed, unitScale)
+                    : previous.segmentPoints(previousSegment);
+            if (samples == null) {
+                LOGGER.warning("Could not parameterize spline: segment " + i + " is malformed");
+                return null;
+            }
+            segmentIds[i] = previousSegment < 0 ? new Object() : previous.segmentIds[previousSegment];
+            segmentStarts[i] = Math.max(points.size() - 1, 0);
+            points.addAll(points.isEmpty() ? samples : samples.subList(1, samples.size()));
+        }
+        segmentStarts[segmentCount] = Math.max(points.size() - 1, 0);
+        ParameterizedSpline spline = new ParameterizedSpline(values, points, segmentStarts, segmentIds, reversed,
+                height, unitScale);
+        // Edits always have a previous spline, so they only fill the cache once the path is saved
+        if (key != null) {
+            LOADED.put(key, spline);
+        }
+        return spline;
+    }
+
+    private static List<PoseWithCurvature> sampleSegment(Waypoint start, Waypoint end, boolean reversed,
+                                                         double unitScale) {
+        // Reversed paths are sampled with flipped tangents, then turned back around, as the generator does
+        double tangentScale = reversed ? -unitScale : unitScale;
+        SegmentSampler sampler = SAMPLERS.get();
+        QuinticEvaluator evaluator = sampler.evaluator.setControlVectors(
+                new double[] {start.getX() * unitScale, start.getTangentX() * tangentScale, 0},
+                new double[] {end.getX() * unitScale, end.getTangentX() * tangentScale, 0},
+                new double[] {start.getY() * unitScale, start.getTangentY() * tangentScale, 0},
+                new double[] {end.getY() * unitScale, end.getTangentY() * tangentScale, 0});
+        int count = evaluator.subdivide();
+        if (count < 0) {
+            return null;
+        }
+        double[] t = evaluator.getParameters();
+        sampler.ensureCapacity(count);
+        evaluator.positions(t, count, sampler.xs, sampler.ys);
+        evaluator.headings(t, count, sampler.headings);
+        evaluator.curvatures(t, count, sampler.curvatures);
+
+        List<PoseWithCurvature> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double heading = sampler.headings[i];
+            double curvature = sampler.curvatures[i];
+            if (reversed) {
+                heading += heading > 0 ? -Math.PI : Math.PI;
+                curvature = -curvature;
+            }
+            samples.add(new PoseWithCurvature(
+                    new Pose2d(sampler.xs[i], sampler.ys[i], new Rotation2d(heading)), curvature));
+        }
+        return samples;
+    }
+
+    /**
+     * Finds a segment of this spline that joins the same two waypoints as a segment of a new path.
+     * The segment is looked up at the same index, then shifted by one, to allow for an inserted or
+     * removed waypoint.
+     *
+     * @return the index of the matching segment, or -1 if there is none
+     */
+    private int findSegment(double[] values, int segment) {
+        for (int candidate : new int[] {segment, segment - 1, segment + 1}) {
+            if (candidate >= 0 && candidate < getSegmentCount()
+                    && Arrays.equals(waypointValues, candidate * 5, candidate * 5 + 10,
+                    values, segment * 5, segment * 5 + 10)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private List<PoseWithCurvature> segmentPoints(int segment) {
+        return points.subList(segmentStarts[segment], segmentStarts[segment + 1] + 1);
+    }
+
+    private static double[] valuesOf(List<Waypoint> waypoints) {
+        double[] values = new double[waypoints.size() * 5];
+        for (int i = 0; i < waypoints.size(); i++) {
+            Waypoint wp = waypoints.get(i);
+            values[i * 5] = wp.getX();
+            values[i * 5 + 1] = wp.getY();
+            values[i * 5 + 2] = wp.getTangentX();
+            values[i * 5 + 3] = wp.getTangentY();
+            values[i * 5 + 4] = wp.isReversed() ? 1 : 0;
+        }
+        return values;
+    }
+
+    /**
+     * Checks whether this spline was sampled from waypoints with the same positions, tangents and direction,
+     * under the project's current export unit and field.
+     *
+     * @param waypoints the current waypoints of the path
+     * @return true if the samples are still valid for the waypoints
+     */
+    public boolean matches(List<Waypoint> waypoints) {
+        ExportUnits units = ExportUnits.current();
+        return heightOffset == units.heightOffset && unitScale == units.unitScale
+                && Arrays.equals(waypointValues, valuesOf(waypoints));
+    }
+
+    /**
+     * Shares this spline with later parameterizations of freshly loaded paths that have the same waypoints
+     * and units. Saving a path shares its spline, so a build that loads the saved file reuses what the
+     * editor already sampled.
+     */
+    public void share() {
+        LOADED.put(new CacheKey(waypointValues, heightOffset, unitScale), this);
+    }
+
+    /**
+     * Gets the factor from project units to the export units of the samples and generated trajectories.
+     */
+    public double getUnitScale() {
+        return unitScale;
+    }
+
+    /**
+     * Gets the offset, in export units, added to the y coordinate of generated trajectories.
+     */
+    public double getHeightOffset() {
+        return heightOffset;
+    }
+
+    /**
+     * Gets the number of spline segments, one for each pair of consecutive waypoints.
+     */
+    public int getSegmentCount() {
+        return segmentStarts.length - 1;
+    }
+
+    /**
+     * Gets a token identifying the samples of a segment. Parameterizations that reuse a segment's samples
+     * return the same token for it, so views of a segment only need refreshing when its token changes.
+     *
+     * @param segment the index of the segment
+     * @return the identity of the segment's samples
+     */
+    public Object getSegmentId(int segment) {
+        return segmentIds[segment];
+    }
+
+    /**
+     * Gets the largest curvature of a segment, in either direction.
+     *
+     * @param segment the index of the segment
+     * @return the maximum absolute curvature, in radians per project unit
+     */
+    public double getSegmentMaxCurvature(int segment) {
+        double max = 0;
+        for (int i = segmentStarts[segment]; i <= segmentStarts[segment + 1]; i++) {
+            max = Math.max(max, Math.abs(points.get(i).curvatureRadPerMeter));
+        }
+        return max * unitScale;
+    }
+
+    /**
+     * Gets the points of one segment for drawing, in project units and JavaFX coordinates.
+     *
+     * @param segment the index of the segment
+     * @return the x and y coordinates of the points, alternating
+     */
+    public Double[] getSegmentPolyline(int segment) {
+        int first = segmentStarts[segment];
+        int count = segmentStarts[segment + 1] - first + 1;
+        Double[] polyline = new Double[count * 2];
+        for (int i = 0; i < count; i++) {
+            Pose2d pose = points.get(first + i).poseMeters;
+            polyline[i * 2] = pose.getX() / unitScale;
+            //Convert from WPILib to JavaFX coords
+            polyline[i * 2 + 1] = -pose.getY() / unitScale;
+        }
+        return polyline;
+    }
+
+    /**
+     * Times the spline under the given limits. This is safe to call from several threads at once.
+     *
+     * @param maxVelocity     the maximum velocity, in project units per second
+     * @param maxAcceleration the maximum acceleration, in project units per second squared
+     * @param trackWidth      the track width of the robot, in project units
+     * @return the trajectory in export units, or null if no trajectory satisfies the limits
+     */
+    public Trajectory timeParameterize(double maxVelocity, double maxAcceleration, double trackWidth) {
+        TrajectoryConfig config = new TrajectoryConfig(maxVelocity * unitScale, maxAcceleration * unitScale)
+                .setKinematics(new DifferentialDriveKinematics(trackWidth * unitScale)).setReversed(reversed);
+        Trajectory traj;
+        try {
+            traj = TrajectoryParameterizer.timeParameterizeTrajectory(points, config.getConstraints(),
+                    config.getStartVelocity(), config.getEndVelocity(), config.getMaxVelocity(),
+                    config.getMaxAcceleration(), config.isReversed());
+        } catch (TrajectoryParameterizer.TrajectoryGenerationException e) {
+            LOGGER.log(Level.WARNING, "Could not generate trajectory", e);
+            return null;
+        }
+
+        for (int i = 0; i < traj.getStates().size(); ++i) {
+            var st = traj.getStates().get(i);
+            traj.getStates().set(i, new Trajectory.State(
+                st.timeSeconds, st.velocityMetersPerSecond, st.accelerationMetersPerSecondSq,
+                new Pose2d(st.poseMeters.getX(), st.poseMeters.getY() + heightOffset,
+                    st.poseMeters.getRotation()),
+                st.curvatureRadPerMeter
+            ));
+        }
+        return traj;
+    }
+
+    /**
+     * An evaluator and the buffers its samples are computed into, kept for reuse by one thread.
+     */
+    private static final class SegmentSampler {
+        private final QuinticEvaluator evaluator = new QuinticEvaluator();
+        private double[] xs = new double[0];
+        private double[] ys = new double[0];
+        private double[] headings = new double[0];
+        private double[] curvatures = new double[0];
+
+        private void ensureCapacity(int count) {
+            if (xs.length < count) {
+                xs = new double[count];
+                ys = new double[count];
+                headings = new double[count];
+                curvatures = new double[count];
+            }
+        }
+    }
+
+    /**
+     * The units of the project's trajectories: the offset added to their y coordinates, and the factor from
+     * project units to export units.
+     */
+    private static final class ExportUnits {
+        private final double heightOffset;
+        private final double unitScale;
+
+        private ExportUnits(double heightOffset, double unitScale) {
+            this.heightOffset = heightOffset;
+            this.unitScale = unitScale;
+        }
+
+        private static ExportUnits current() {
+            ProjectPreferences prefs = ProjectPreferences.getInstance();
+            double height = prefs.getField().getRealLength().getValue().doubleValue();
+            // If the export type is different (i.e. meters), then we have to convert it. Otherwise we are good.
+            if (prefs.getValues().getExportUnit() == ProjectPreferences.ExportUnit.METER) {
+                UnitConverter converter = prefs.getField().getUnit().getConverterTo(PathUnits.METER);
+                return new ExportUnits(converter.convert(height), converter.convert(1.0));
+            }
+            return new ExportUnits(height, 1);
+        }
+    }
+
+    /**
+     * Identifies the splines of a path by everything they are sampled from.
+     */
+    private static final class CacheKey {
+        private final double[] values;
+        private final double heightOffset;
+        private final double unitScale;
+
+        private CacheKey(double[] values, double heightOffset, double unitScale) {
+            this.values = values;
+            this.heightOffset = heightOffset;
+            this.unitScale = unitScale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return heightOffset == other.heightOffset && unitScale == other.unitScale
+                    && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values) * 31 + Double.hashCode(heightOffset) * 17 + Double.hashCode(unitScale);
+        }
+    }
+}
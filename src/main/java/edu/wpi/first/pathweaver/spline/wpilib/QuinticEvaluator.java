@@ -0,0 +1,261 @@
+package edu.wpi.first.pathweaver.spline.wpilib;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates a quintic Hermite spline at many parameters at once, straight from its polynomial
+ * coefficients into caller-owned arrays. Unlike {@code QuinticHermiteSpline.getPoint}, nothing is allocated
+ * per sample, and the position and curvature loops are simple enough for the JIT to vectorize.
+ * An evaluator holds one spline at a time and is not thread safe.
+ */
+public final class QuinticEvaluator {
+    // The limits SplineParameterizer subdivides to, as a twist between consecutive samples
+    private static final double MAX_DX = 0.127;
+    private static final double MAX_DY = 0.00127;
+    private static final double MAX_DTHETA = 0.0872;
+    private static final int MAX_ITERATIONS = 5000;
+
+    // Coefficients of t^0 to t^5, followed by those of the first and second derivatives
+    private final double[] x = new double[6];
+    private final double[] y = new double[6];
+    private final double[] dx = new double[5];
+    private final double[] dy = new double[5];
+    private final double[] ddx = new double[4];
+    private final double[] ddy = new double[4];
+
+    // Reused between calls to subdivide, and only grown
+    private double[] parameters = new double[64];
+    private double[] stackStarts = new double[16];
+    private double[] stackEnds = new double[16];
+    // The pose of the last point evaluated by evaluatePose
+    private double poseX;
+    private double poseY;
+    private double poseCos;
+    private double poseSin;
+
+    /**
+     * Sets the spline to evaluate, from the same control vectors as a {@code QuinticHermiteSpline}.
+     *
+     * @param xInitial the position, first and second derivative of x at the start
+     * @param xFinal   the position, first and second derivative of x at the end
+     * @param yInitial the position, first and second derivative of y at the start
+     * @param yFinal   the position, first and second derivative of y at the end
+     * @return this evaluator
+     */
+    public QuinticEvaluator setControlVectors(double[] xInitial, double[] xFinal,
+                                              double[] yInitial, double[] yFinal) {
+        coefficients(xInitial, xFinal, x, dx, ddx);
+        coefficients(yInitial, yFinal, y, dy, ddy);
+        return this;
+    }
+
+    private static void coefficients(double[] initial, double[] last, double[] position, double[] velocity,
+                                     double[] acceleration) {
+        double p0 = initial[0];
+        double v0 = initial[1];
+        double a0 = initial[2];
+        double p1 = last[0];
+        double v1 = last[1];
+        double a1 = last[2];
+        position[0] = p0;
+        position[1] = v0;
+        position[2] = 0.5 * a0;
+        position[3] = -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1;
+        position[4] = 15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1;
+        position[5] = -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1;
+        for (int i = 0; i < velocity.length; i++) {
+            velocity[i] = position[i + 1] * (i + 1);
+        }
+        for (int i = 0; i < acceleration.length; i++) {
+            acceleration[i] = velocity[i + 1] * (i + 1);
+        }
+    }
+
+    /**
+     * Computes the positions of the spline at the given parameters.
+     *
+     * @param t     the parameters, from 0 to 1
+     * @param count the number of parameters to evaluate
+     * @param xs    receives the x coordinates
+     * @param ys    receives the y coordinates
+     */
+    public void positions(double[] t, int count, double[] xs, double[] ys) {
+        // Coefficients are copied to locals so the loop bodies only touch the input and output arrays
+        double x0 = x[0];
+        double x1 = x[1];
+        double x2 = x[2];
+        double x3 = x[3];
+        double x4 = x[4];
+        double x5 = x[5];
+        double y0 = y[0];
+        double y1 = y[1];
+        double y2 = y[2];
+        double y3 = y[3];
+        double y4 = y[4];
+        double y5 = y[5];
+        for (int i = 0; i < count; i++) {
+            double s = t[i];
+            xs[i] = x0 + s * (x1 + s * (x2 + s * (x3 + s * (x4 + s * x5))));
+            ys[i] = y0 + s * (y1 + s * (y2 + s * (y3 + s * (y4 + s * y5))));
+        }
+    }
+
+    /**
+     * Computes the signed curvature of the spline at the given parameters, positive when turning left.
+     *
+     * @param t          the parameters, from 0 to 1
+     * @param count      the number of parameters to evaluate
+     * @param curvatures receives the curvatures, in radians per unit of length
+     */
+    public void curvatures(double[] t, int count, double[] curvatures) {
+        double dx0 = dx[0];
+        double dx1 = dx[1];
+        double dx2 = dx[2];
+        double dx3 = dx[3];
+        double dx4 = dx[4];
+        double dy0 = dy[0];
+        double dy1 = dy[1];
+        double dy2 = dy[2];
+        double dy3 = dy[3];
+        double dy4 = dy[4];
+        double ddx0 = ddx[0];
+        double ddx1 = ddx[1];
+        double ddx2 = ddx[2];
+        double ddx3 = ddx[3];
+        double ddy0 = ddy[0];
+        double ddy1 = ddy[1];
+        double ddy2 = ddy[2];
+        double ddy3 = ddy[3];
+        for (int i = 0; i < count; i++) {
+            double s = t[i];
+            double vx = dx0 + s * (dx1 + s * (dx2 + s * (dx3 + s * dx4)));
+            double vy = dy0 + s * (dy1 + s * (dy2 + s * (dy3 + s * dy4)));
+            double ax = ddx0 + s * (ddx1 + s * (ddx2 + s * ddx3));
+            double ay = ddy0 + s * (ddy1 + s * (ddy2 + s * ddy3));
+            double speedSquared = vx * vx + vy * vy;
+            curvatures[i] = (vx * ay - ax * vy) / (speedSquared * Math.sqrt(speedSquared));
+        }
+    }
+
+    /**
+     * Computes the heading of the spline at the given parameters. Headings are kept out of
+     * {@link #curvatures} because {@code Math.atan2} stops the loop from being vectorized.
+     *
+     * @param t        the parameters, from 0 to 1
+     * @param count    the number of parameters to evaluate
+     * @param headings receives the headings, in radians counterclockwise from the x axis
+     */
+    public void headings(double[] t, int count, double[] headings) {
+        double dx0 = dx[0];
+        double dx1 = dx[1];
+        double dx2 = dx[2];
+        double dx3 = dx[3];
+        double dx4 = dx[4];
+        double dy0 = dy[0];
+        double dy1 = dy[1];
+        double dy2 = dy[2];
+        double dy3 = dy[3];
+        double dy4 = dy[4];
+        for (int i = 0; i < count; i++) {
+            double s = t[i];
+            double vx = dx0 + s * (dx1 + s * (dx2 + s * (dx3 + s * dx4)));
+            double vy = dy0 + s * (dy1 + s * (dy2 + s * (dy3 + s * dy4)));
+            headings[i] = Math.atan2(vy, vx);
+        }
+    }
+
+    /**
+     * Picks the parameters to sample the spline at, the same way {@code SplineParameterizer.parameterize}
+     * subdivides it: an interval is halved until the twist between its ends is within 0.127 along the
+     * heading, 0.00127 across it and 0.0872 radians. The parameters, and so the samples, are the same as
+     * the parameterizer's, but no poses are created along the way.
+     *
+     * @return the number of parameters, which are in {@link #getParameters()}; or -1 if the spline needed
+     *     more subdivisions than the parameterizer allows, where it would throw a MalformedSplineException
+     */
+    public int subdivide() {
+        int count = 0;
+        parameters[count++] = 0;
+        int stackSize = 0;
+        stackStarts[stackSize] = 0;
+        stackEnds[stackSize++] = 1;
+        int iterations = 0;
+        while (stackSize > 0) {
+            stackSize--;
+            double t0 = stackStarts[stackSize];
+            double t1 = stackEnds[stackSize];
+            if (exceedsTwist(t0, t1)) {
+                if (stackSize + 2 > stackStarts.length) {
+                    stackStarts = Arrays.copyOf(stackStarts, stackStarts.length * 2);
+                    stackEnds = Arrays.copyOf(stackEnds, stackEnds.length * 2);
+                }
+                // The first half is pushed last so it is taken first
+                double middle = (t0 + t1) / 2;
+                stackStarts[stackSize] = middle;
+                stackEnds[stackSize++] = t1;
+                stackStarts[stackSize] = t0;
+                stackEnds[stackSize++] = middle;
+            } else {
+                if (count == parameters.length) {
+                    parameters = Arrays.copyOf(parameters, parameters.length * 2);
+                }
+                parameters[count++] = t1;
+            }
+            iterations++;
+            if (iterations >= MAX_ITERATIONS) {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the parameters picked by the last call to {@link #subdivide()}. The array is reused by later calls
+     * and may be longer than the number of parameters.
+     */
+    public double[] getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Checks whether the twist between the poses at two parameters is beyond the parameterizer's limits,
+     * computed like {@code Pose2d.log}.
+     */
+    private boolean exceedsTwist(double t0, double t1) {
+        evaluatePose(t0);
+        double startX = poseX;
+        double startY = poseY;
+        double startCos = poseCos;
+        double startSin = poseSin;
+        evaluatePose(t1);
+
+        // The end pose relative to the start pose
+        double worldX = poseX - startX;
+        double worldY = poseY - startY;
+        double relativeX = worldX * startCos + worldY * startSin;
+        double relativeY = -worldX * startSin + worldY * startCos;
+        double cos = poseCos * startCos + poseSin * startSin;
+        double sin = poseSin * startCos - poseCos * startSin;
+        double dtheta = Math.atan2(sin, cos);
+
+        double halfDtheta = dtheta / 2;
+        double cosMinusOne = cos - 1;
+        double halfThetaByTanOfHalfDtheta = Math.abs(cosMinusOne) < 1e-9
+                ? 1.0 - 1.0 / 12.0 * dtheta * dtheta
+                : -(halfDtheta * sin) / cosMinusOne;
+        double twistX = relativeX * halfThetaByTanOfHalfDtheta + relativeY * halfDtheta;
+        double twistY = -relativeX * halfDtheta + relativeY * halfThetaByTanOfHalfDtheta;
+        return Math.abs(twistY) > MAX_DY || Math.abs(twistX) > MAX_DX || Math.abs(dtheta) > MAX_DTHETA;
+    }
+
+    private void evaluatePose(double s) {
+        poseX = x[0] + s * (x[1] + s * (x[2] + s * (x[3] + s * (x[4] + s * x[5]))));
+        poseY = y[0] + s * (y[1] + s * (y[2] + s * (y[3] + s * (y[4] + s * y[5]))));
+        double vx = dx[0] + s * (dx[1] + s * (dx[2] + s * (dx[3] + s * dx[4])));
+        double vy = dy[0] + s * (dy[1] + s * (dy[2] + s * (dy[3] + s * dy[4])));
+        double speed = Math.hypot(vx, vy);
+        // Like Rotation2d, a heading with no direction is taken as zero
+        poseCos = speed > 1e-6 ? vx / speed : 1;
+        poseSin = speed > 1e-6 ? vy / speed : 0;
+    }
+}
@@ -1,30 +1,25 @@
 package edu.wpi.first.pathweaver.spline.wpilib;
 
 import edu.wpi.first.pathweaver.FxUtils;
-import edu.wpi.first.pathweaver.PathUnits;
 import edu.wpi.first.pathweaver.ProjectPreferences;
 import edu.wpi.first.pathweaver.Waypoint;
+import edu.wpi.first.pathweaver.collision.CollisionChecker;
+import edu.wpi.first.pathweaver.metrics.Metrics;
+import edu.wpi.first.pathweaver.metrics.SplineUpdateEvent;
+import edu.wpi.first.pathweaver.metrics.TrajectoryGenerationEvent;
 import edu.wpi.first.pathweaver.path.Path;
 import edu.wpi.first.pathweaver.spline.AbstractSpline;
 import edu.wpi.first.pathweaver.spline.SplineSegment;
-import edu.wpi.first.wpilibj.geometry.Pose2d;
-import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
-import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
-import edu.wpi.first.wpilibj.spline.QuinticHermiteSpline;
-import edu.wpi.first.wpilibj.spline.Spline;
 import edu.wpi.first.wpilibj.trajectory.Trajectory;
-import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
-import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryUtil;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.css.PseudoClass;
 import javafx.scene.Group;
 import javafx.scene.Node;
 
-import javax.measure.UnitConverter;
-
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,8 +30,35 @@ import java.util.logging.Logger;
 public class WpilibSpline extends AbstractSpline {
     private static final Logger LOGGER = Logger.getLogger(WpilibSpline.class.getName());
 
+    private static final int SAMPLES_PER_SEGMENT = 40;
+    private static final double[] SAMPLE_PARAMETERS = new double[SAMPLES_PER_SEGMENT + 1];
+    private static final PseudoClass COLLISION_CLASS = PseudoClass.getPseudoClass("collision");
+    /**
+     * The suffix added to the path name for exported trajectory files.
+     */
+    public static final String TRAJECTORY_EXTENSION = ".wpilib.json";
+
+    static {
+        for (int sample = 0; sample <= SAMPLES_PER_SEGMENT; sample++) {
+            SAMPLE_PARAMETERS[sample] = sample / (double) SAMPLES_PER_SEGMENT;
+        }
+    }
+
     private final SimpleDoubleProperty strokeWidth = new SimpleDoubleProperty(1.0);
+    private final List<SplineSegment> segments = new ArrayList<>();
+    // The samples each segment line was last drawn from, by identity
+    private final List<Object> segmentSamples = new ArrayList<>();
+    // The largest curvature of each segment, or NaN for segments that are not parameterized
+    private final List<Double> segmentCurvatures = new ArrayList<>();
+    // The checker the segments were last checked with; it changes with the obstacles or the track width
+    private CollisionChecker checkedWith;
+    // Buffers for drawing segments that cannot be parameterized
+    private final QuinticEvaluator evaluator = new QuinticEvaluator();
+    private final double[] sampleXs = new double[SAMPLES_PER_SEGMENT + 1];
+    private final double[] sampleYs = new double[SAMPLES_PER_SEGMENT + 1];
+    private final double[] sampleCurvatures = new double[SAMPLES_PER_SEGMENT + 1];
     private int subchildIdx = 0;
+    private volatile ParameterizedSpline parameterizedSpline;
 
     private final Path path;
 
@@ -45,7 +67,6 @@ public class WpilibSpline extends AbstractSpline {
         this.subchildIdx = i;
         for (Node node : group.getChildren()) {
             FxUtils.enableSubchildSelector(node, subchildIdx);
-            node.applyCss();
         }
     }
 
@@ -59,138 +80,200 @@ public class WpilibSpline extends AbstractSpline {
         this.path = path;
     }
 
+    /**
+     * Recomputes the drawn segments of this spline. Segment lines are reused between updates so that
+     * their resolved styles are kept; only newly needed lines get styled, on the next CSS pass.
+     * The segments are drawn from the same samples that {@link #generateTrajectory()} uses, and only
+     * segments with new samples are redrawn, checked against the field's obstacles and measured for the
+     * {@link CurvatureHeatmap}. Every segment is checked again when the obstacles or the track width change.
+     */
     @Override
     public void update() {
-        group.getChildren().clear();
+        long start = Metrics.start();
+        SplineUpdateEvent event = new SplineUpdateEvent();
+        event.begin();
+        int segmentCount = Math.max(waypoints.size() - 1, 0);
+        while (segments.size() > segmentCount) {
+            SplineSegment removed = segments.remove(segments.size() - 1);
+            segmentSamples.remove(segmentSamples.size() - 1);
+            segmentCurvatures.remove(segmentCurvatures.size() - 1);
+            group.getChildren().remove(removed.getLine());
+        }
+        ParameterizedSpline spline = getParameterizedSpline();
+        CollisionChecker collisionChecker = ProjectPreferences.getInstance().getField()
+            .getCollisionChecker(ProjectPreferences.getInstance().getValues().getTrackWidth());
+        boolean recheck = collisionChecker != checkedWith;
+        checkedWith = collisionChecker;
         for (int i = 1; i < waypoints.size(); i++) {
-            Waypoint segStart = waypoints.get(i - 1).copy();
-            Waypoint segEnd = waypoints.get(i).copy();
-            QuinticHermiteSpline quintic;
-
-            if (segStart.isReversed()) {
-                quintic = getQuinticSplinesFromWaypoints(new Waypoint[]{segEnd, segStart})[0];
-            }
-            else {
-                quintic = getQuinticSplinesFromWaypoints(new Waypoint[]{segStart, segEnd})[0];
-            }
-            SplineSegment seg = new SplineSegment(waypoints.get(i-1), waypoints.get(i), path);
+            Waypoint segStart = waypoints.get(i - 1);
+            SplineSegment seg = getSegment(i - 1);
+            seg.setStart(segStart);
+            seg.setEnd(waypoints.get(i));
 
-            for (int sample = 0; sample <= 40; sample++) {
-                PoseWithCurvature pose = quintic.getPoint(sample / 40.0);
-                seg.getLine().getPoints().add(pose.poseMeters.getTranslation().getX());
-                //Convert from WPILib to JavaFX coords
-                seg.getLine().getPoints().add(-pose.poseMeters.getTranslation().getY());
+            // Segments whose samples were reused are already drawn and checked
+            Object samplesId = spline == null ? null : spline.getSegmentId(i - 1);
+            if (samplesId == null || samplesId != segmentSamples.get(i - 1)) {
+                Double[] points = spline == null ? sampleSegment(segStart, waypoints.get(i))
+                    : spline.getSegmentPolyline(i - 1);
+                seg.getLine().getPoints().setAll(points);
+                seg.getLine().pseudoClassStateChanged(COLLISION_CLASS, collisionChecker.collides(points));
+                segmentSamples.set(i - 1, samplesId);
+                segmentCurvatures.set(i - 1, spline == null ? sampledMaxCurvature()
+                    : spline.getSegmentMaxCurvature(i - 1));
+                applyAnalysisStyle(i - 1);
+            } else if (recheck) {
+                Double[] points = seg.getLine().getPoints().toArray(new Double[0]);
+                seg.getLine().pseudoClassStateChanged(COLLISION_CLASS, collisionChecker.collides(points));
+                applyAnalysisStyle(i - 1);
             }
 
             if (segStart.isReversed()) {
-                seg.getLine().getStrokeDashArray().addAll(0.1, 0.2);
+                if (seg.getLine().getStrokeDashArray().isEmpty()) {
+                    seg.getLine().getStrokeDashArray().addAll(0.1, 0.2);
+                }
+            } else {
+                seg.getLine().getStrokeDashArray().clear();
             }
+        }
+        event.commit(path.getPathName(), waypoints.size());
+        Metrics.record(Metrics.SPLINE_UPDATE, start);
+    }
 
-            seg.getLine().strokeWidthProperty().bind(strokeWidth);
-            seg.getLine().getStyleClass().addAll("path");
-
-            FxUtils.enableSubchildSelector(seg.getLine(), subchildIdx);
-            seg.getLine().applyCss();
+    /**
+     * Colors every segment for the current {@link CurvatureHeatmap} mode. Segments that collide with an
+     * obstacle keep the collision color from the stylesheet.
+     */
+    public void applyAnalysisStyle() {
+        for (int i = 0; i < segments.size(); i++) {
+            applyAnalysisStyle(i);
+        }
+    }
 
-            group.getChildren().add(seg.getLine());
+    private void applyAnalysisStyle(int index) {
+        var line = segments.get(index).getLine();
+        double curvature = segmentCurvatures.get(index);
+        if (Double.isNaN(curvature) || line.getPseudoClassStates().contains(COLLISION_CLASS)) {
+            line.setStyle("");
+        } else {
+            line.setStyle(CurvatureHeatmap.style(curvature));
         }
     }
 
-    @Override
-    public void addToGroup(Group splineGroup, double scaleFactor) {
-        strokeWidth.set(scaleFactor);
-        splineGroup.getChildren().add(group);
-        group.toBack();
+    /**
+     * Gets the sampled splines through the current waypoints. Only the segments next to a waypoint that
+     * changed since the last call are sampled again, and every segment is sampled again when the export
+     * unit or the field changes.
+     *
+     * @return the sampled splines, or null if the waypoints do not form a valid spline
+     */
+    public ParameterizedSpline getParameterizedSpline() {
+        ParameterizedSpline spline = parameterizedSpline;
+        if (spline == null || !spline.matches(waypoints)) {
+            spline = ParameterizedSpline.of(waypoints, spline);
+            parameterizedSpline = spline;
+        }
+        return spline;
     }
 
-    @Override
-    public boolean writeToFile(java.nio.file.Path path) {
-        final AtomicBoolean okay = new AtomicBoolean(true);
-        TrajectoryGenerator.setErrorHandler((error, stacktrace) -> {
-            LOGGER.log(Level.WARNING, "Could not write Spline to file: " + error, stacktrace);
-            okay.set(false);
-        });
-        try {
-            var values = ProjectPreferences.getInstance().getValues();
-            var prefs = ProjectPreferences.getInstance();
-            var lengthUnit = prefs.getField().getUnit();
-            double height = prefs.getField().getRealLength().getValue().doubleValue();
-            var maxVelocity = values.getMaxVelocity();
-            var maxAcceleration = values.getMaxAcceleration();
-            var trackWidth = values.getTrackWidth();
-
-            // If the export type is different (i.e. meters), then we have to convert it. Otherwise we are good.
-            if (prefs.getValues().getExportUnit() == ProjectPreferences.ExportUnit.METER) {
-                UnitConverter converter = lengthUnit.getConverterTo(PathUnits.METER);
-                height = converter.convert(height);
-                maxVelocity = converter.convert(maxVelocity);
-                maxAcceleration = converter.convert(maxAcceleration);
-                trackWidth = converter.convert(trackWidth);
-            }
+    /**
+     * Shares the sampled splines through the current waypoints with later loads of the same path, such as
+     * the build's. This is called once the path is saved.
+     */
+    public void shareParameterizedSpline() {
+        ParameterizedSpline spline = getParameterizedSpline();
+        if (spline != null) {
+            spline.share();
+        }
+    }
 
-            TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAcceleration)
-                .setKinematics(new DifferentialDriveKinematics(trackWidth)).setReversed(waypoints.get(0).isReversed());
-            Trajectory traj = trajectoryFromWaypoints(waypoints, config);
-
-            for (int i = 0; i < traj.getStates().size(); ++i) {
-                var st = traj.getStates().get(i);
-                traj.getStates().set(i, new Trajectory.State(
-                    st.timeSeconds, st.velocityMetersPerSecond, st.accelerationMetersPerSecondSq,
-                    new Pose2d(st.poseMeters.getX(), st.poseMeters.getY() + height,
-                        st.poseMeters.getRotation()),
-                    st.curvatureRadPerMeter
-                ));
-            }
+    /**
+     * Samples a segment evenly, for waypoints that the trajectory generator cannot parameterize.
+     */
+    private Double[] sampleSegment(Waypoint segStart, Waypoint segEnd) {
+        Waypoint first = segStart.isReversed() ? segEnd : segStart;
+        Waypoint last = segStart.isReversed() ? segStart : segEnd;
+        evaluator.setControlVectors(
+                new double[] {first.getX(), first.getTangentX(), 0.0},
+                new double[] {last.getX(), last.getTangentX(), 0.0},
+                new double[] {first.getY(), first.getTangentY(), 0.0},
+                new double[] {last.getY(), last.getTangentY(), 0.0});
+        evaluator.positions(SAMPLE_PARAMETERS, SAMPLE_PARAMETERS.length, sampleXs, sampleYs);
 
-            TrajectoryUtil.toPathweaverJson(traj, path.resolveSibling(path.getFileName() + ".wpilib.json"));
+        Double[] points = new Double[SAMPLE_PARAMETERS.length * 2];
+        for (int sample = 0; sample < SAMPLE_PARAMETERS.length; sample++) {
+            points[sample * 2] = sampleXs[sample];
+            //Convert from WPILib to JavaFX coords
+            points[sample * 2 + 1] = -sampleYs[sample];
+        }
+        return points;
+    }
 
-            return okay.get();
-        } catch (IOException except) {
-            LOGGER.log(Level.WARNING, "Could not write Spline to file", except);
-            return false;
+    /**
+     * Gets the largest curvature of the segment last drawn by {@link #sampleSegment}.
+     */
+    private double sampledMaxCurvature() {
+        evaluator.curvatures(SAMPLE_PARAMETERS, SAMPLE_PARAMETERS.length, sampleCurvatures);
+        double max = 0;
+        for (double curvature : sampleCurvatures) {
+            max = Math.max(max, Math.abs(curvature));
         }
+        return max;
     }
 
-    private static QuinticHermiteSpline[] getQuinticSplinesFromWaypoints(Waypoint[] waypoints) {
-        QuinticHermiteSpline[] splines = new QuinticHermiteSpline[waypoints.length - 1];
-        for (int i = 0; i < waypoints.length - 1; i++) {
-            var p0 = waypoints[i];
-            var p1 = waypoints[i + 1];
-
-            double[] xInitialVector =
-                    {p0.getX(), p0.getTangentX(), 0.0};
-            double[] xFinalVector =
-                    {p1.getX(), p1.getTangentX(), 0.0};
-            double[] yInitialVector =
-                    {p0.getY(), p0.getTangentY(), 0.0};
-            double[] yFinalVector =
-                    {p1.getY(), p1.getTangentY(), 0.0};
-
-            splines[i] = new QuinticHermiteSpline(xInitialVector, xFinalVector,
-                    yInitialVector, yFinalVector);
+    private SplineSegment getSegment(int index) {
+        if (index < segments.size()) {
+            return segments.get(index);
         }
+        SplineSegment seg = new SplineSegment(waypoints.get(index), waypoints.get(index + 1), path);
+        seg.getLine().strokeWidthProperty().bind(strokeWidth);
+        seg.getLine().getStyleClass().addAll("path");
+        FxUtils.enableSubchildSelector(seg.getLine(), subchildIdx);
 
-        return splines;
+        segments.add(seg);
+        segmentSamples.add(null);
+        segmentCurvatures.add(Double.NaN);
+        group.getChildren().add(seg.getLine());
+        return seg;
     }
 
-    private static Trajectory trajectoryFromWaypoints(Iterable<Waypoint> waypoints, TrajectoryConfig config) {
-        ProjectPreferences.Values prefs = ProjectPreferences.getInstance().getValues();
+    @Override
+    public void addToGroup(Group splineGroup, double scaleFactor) {
+        strokeWidth.set(scaleFactor);
+        splineGroup.getChildren().add(group);
+        group.toBack();
+    }
 
-        var list = new TrajectoryGenerator.ControlVectorList();
-        for(Waypoint wp: waypoints) {
-            if(prefs.getExportUnit() == ProjectPreferences.ExportUnit.METER) {
-                UnitConverter converter = prefs.getLengthUnit().getConverterTo(PathUnits.METER);
-                list.add(new Spline.ControlVector(
-                        new double[] {converter.convert(wp.getX()), converter.convert(wp.getTangentX()), 0},
-                        new double[] {converter.convert(wp.getY()), converter.convert(wp.getTangentY()), 0}));
-            } else {
-                list.add(new Spline.ControlVector(
-                        new double[] {wp.getX(), wp.getTangentX(), 0},
-                        new double[] {wp.getY(), wp.getTangentY(), 0}));
+    @Override
+    public Trajectory generateTrajectory() {
+        long start = Metrics.start();
+        TrajectoryGenerationEvent event = new TrajectoryGenerationEvent();
+        event.begin();
+        try {
+            ParameterizedSpline spline = getParameterizedSpline();
+            if (spline == null) {
+                return null;
             }
-
+            var values = ProjectPreferences.getInstance().getValues();
+            return spline.timeParameterize(values.getMaxVelocity(), values.getMaxAcceleration(),
+                values.getTrackWidth());
+        } finally {
+            event.commit(this.path.getPathName(), waypoints.size());
+            Metrics.record(Metrics.TRAJECTORY_GENERATION, start);
         }
+    }
 
-        return TrajectoryGenerator.generateTrajectory(list, config);
+    @Override
+    public boolean writeToFile(java.nio.file.Path path) {
+        Trajectory traj = generateTrajectory();
+        if (traj == null) {
+            return false;
+        }
+        try {
+            TrajectoryUtil.toPathweaverJson(traj, path.resolveSibling(path.getFileName() + TRAJECTORY_EXTENSION));
+            return true;
+        } catch (IOException except) {
+            LOGGER.log(Level.WARNING, "Could not write Spline to file", except);
+            return false;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package edu.wpi.first.pathweaver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BoundedCacheTest {
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    BoundedCache<String, String> cache = new BoundedCache<>(2);
+    cache.put("a", "A");
+    cache.put("b", "B");
+    assertEquals("A", cache.get("a"), "Cached value should be returned");
+
+    cache.put("c", "C");
+    assertEquals(2, cache.size(), "Cache should not grow past its limit");
+    assertNull(cache.get("b"), "The least recently used value should be evicted");
+    assertEquals("A", cache.get("a"), "Recently used values should be kept");
+    assertEquals("C", cache.get("c"), "New values should be kept");
+  }
+}
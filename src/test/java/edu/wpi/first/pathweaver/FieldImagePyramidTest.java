@@ -0,0 +1,112 @@
+package edu.wpi.first.pathweaver;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldImagePyramidTest {
+
+  @Test
+  public void fullSizeImageUsedWhenDisplayIsLarge() throws ExecutionException, InterruptedException {
+    Image source = new WritableImage(1024, 512);
+    FieldImagePyramid pyramid = new FieldImagePyramid(() -> source);
+    assertEquals(0, pyramid.levelFor(2000), "Upscaled display should use the source");
+    assertSame(source, pyramid.request(2000).get(), "Upscaled display should use the source");
+  }
+
+  @Test
+  public void levelsAreHalved(@TempDir Path temp) throws ExecutionException, InterruptedException, IOException {
+    URL location = writeImage(temp.resolve("field.png"), 1024, 512, 0);
+    FieldImagePyramid pyramid = new FieldImagePyramid(() -> decode(location), location);
+    pyramid.setCacheDirectory(temp.resolve("cache"));
+    assertEquals(2, pyramid.levelFor(200), "Wrong level for display width");
+
+    Image scaled = pyramid.request(200).get();
+    assertEquals(256, scaled.getWidth(), "Wrong scaled width");
+    assertEquals(128, scaled.getHeight(), "Wrong scaled height");
+    assertTrue(Files.exists(temp.resolve("cache").resolve(FieldImagePyramid.keyFor(location) + "-2.png")),
+        "Scaled image was not cached on disk");
+  }
+
+  @Test
+  public void cachedLevelsAreReadWithoutDecodingSource(@TempDir Path temp)
+      throws ExecutionException, InterruptedException, IOException {
+    URL location = writeImage(temp.resolve("field.png"), 512, 256, 0);
+    FieldImagePyramid pyramid = new FieldImagePyramid(() -> decode(location), location);
+    pyramid.setCacheDirectory(temp.resolve("cache"));
+    pyramid.request(100).get();
+
+    AtomicInteger decodes = new AtomicInteger();
+    FieldImagePyramid relaunched = new FieldImagePyramid(() -> {
+      decodes.incrementAndGet();
+      return decode(location);
+    }, location);
+    relaunched.setCacheDirectory(temp.resolve("cache"));
+    assertEquals(512, relaunched.getSourceSize().getWidth(), "Size should be read from the file header");
+    assertEquals(128, relaunched.request(100).get().getWidth(), "Wrong scaled width");
+    assertEquals(0, decodes.get(), "A cached level should not decode the source");
+  }
+
+  @Test
+  public void replacedSourceIsNotReadFromCache(@TempDir Path temp)
+      throws ExecutionException, InterruptedException, IOException {
+    Path file = temp.resolve("field.png");
+    URL location = writeImage(file, 256, 256, 0);
+    String firstKey = FieldImagePyramid.keyFor(location);
+    FieldImagePyramid pyramid = new FieldImagePyramid(() -> decode(location), location);
+    pyramid.setCacheDirectory(temp.resolve("cache"));
+    pyramid.request(100).get();
+
+    writeImage(file, 256, 256, 0xFFFF0000);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+    assertNotEquals(firstKey, FieldImagePyramid.keyFor(location), "A replaced file should not share a cache key");
+
+    FieldImagePyramid replaced = new FieldImagePyramid(() -> decode(location), location);
+    replaced.setCacheDirectory(temp.resolve("cache"));
+    Image scaled = replaced.request(100).get();
+    assertNotEquals(0, scaled.getPixelReader().getArgb(0, 0), "Level was read from the old image's cache");
+  }
+
+  private static Image decode(URL location) {
+    try {
+      BufferedImage buffered = ImageIO.read(location);
+      WritableImage image = new WritableImage(buffered.getWidth(), buffered.getHeight());
+      for (int y = 0; y < buffered.getHeight(); y++) {
+        for (int x = 0; x < buffered.getWidth(); x++) {
+          image.getPixelWriter().setArgb(x, y, buffered.getRGB(x, y));
+        }
+      }
+      return image;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static URL writeImage(Path file, int width, int height, int argb) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, argb);
+      }
+    }
+    ImageIO.write(image, "png", file.toFile());
+    return file.toUri().toURL();
+  }
+}
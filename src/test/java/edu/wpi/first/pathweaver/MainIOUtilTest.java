@@ -0,0 +1,36 @@
+package edu.wpi.first.pathweaver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MainIOUtilTest {
+  @Test
+  public void groupFilesAreMigratedOnce(@TempDir Path temp) throws IOException {
+    ProjectPreferences preferences = ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    Path groups = Files.createDirectories(temp.resolve("Groups"));
+    Files.write(groups.resolve("Left"), List.of("A.path", "B.path"), StandardCharsets.UTF_8);
+    String autonDirectory = temp.resolve("Autos") + "/";
+    String groupDirectory = groups + "/";
+
+    MainIOUtil.migrateGroupFiles(autonDirectory, groupDirectory, preferences);
+    assertEquals(List.of("A.path", "B.path"), MainIOUtil.readAuton(autonDirectory, "Left"),
+        "Group should be copied to the autons");
+    assertTrue(preferences.getValues().isGroupsMigrated(), "Migration should be recorded");
+    assertTrue(Files.readString(temp.resolve(ProjectPreferences.FILE_NAME)).contains("migratedGroupFiles"),
+        "Migration should be saved to the project file");
+
+    Files.write(temp.resolve("Autos/Left"), List.of("C.path"), StandardCharsets.UTF_8);
+    MainIOUtil.migrateGroupFiles(autonDirectory, groupDirectory, preferences);
+    assertEquals(List.of("C.path"), MainIOUtil.readAuton(autonDirectory, "Left"),
+        "Edited autons should not be overwritten once migrated");
+  }
+}
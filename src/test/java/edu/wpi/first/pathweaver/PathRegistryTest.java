@@ -0,0 +1,57 @@
+package edu.wpi.first.pathweaver;
+
+import edu.wpi.first.pathweaver.path.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PathRegistryTest {
+  private static final List<String> PATH_FILE = List.of(
+      "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name",
+      "1.0,-5.0,3.0,0.0,true,false,Start",
+      "6.0,-5.0,3.0,0.0,true,false,");
+
+  @Test
+  public void modelIsSharedUntilItsFileChanges(@TempDir java.nio.file.Path temp) throws IOException {
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    File file = Files.write(temp.resolve("a.path"), PATH_FILE).toFile();
+    PathRegistry registry = new PathRegistry();
+    PathModel model = registry.getModel(file);
+    Path first = registry.get(file, shown -> shown.createPath("a.path"));
+    Path second = registry.get(file, shown -> shown.createPath("a.path"));
+
+    assertSame(model, registry.getModel(file), "Loaded model should be shared");
+    assertNotSame(first, second, "Each auton should get its own view");
+    assertEquals(1, registry.size(), "Only one model should be kept for a file");
+
+    first.update();
+    assertSame(model, registry.getModel(file), "Updating a view should not replace the model");
+
+    file.setLastModified(file.lastModified() - 10_000);
+    assertNotSame(model, registry.getModel(file), "Changed file should be read again");
+  }
+
+  @Test
+  public void unsavedEditsAreShownAgain(@TempDir java.nio.file.Path temp) throws IOException {
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    File file = Files.write(temp.resolve("b.path"), PATH_FILE).toFile();
+    PathRegistry registry = new PathRegistry();
+    Path path = registry.get(file, shown -> shown.createPath("b.path"));
+    path.getWaypoints().get(0).setX(2);
+
+    SaveManager.getInstance().addChange(path);
+    assertSame(path, registry.get(file, shown -> shown.createPath("b.path")), "Pending edits should be kept");
+    SaveManager.getInstance().removeChange(path);
+    Path reloaded = registry.get(file, shown -> shown.createPath("b.path"));
+    assertNotSame(path, reloaded, "Discarded edits should be dropped");
+    assertEquals(1, reloaded.getWaypoints().get(0).getX(), 1e-9, "The new view should show the file");
+  }
+}
@@ -0,0 +1,54 @@
+package edu.wpi.first.pathweaver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectIndexTest {
+  private static final String HEADER = "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name";
+
+  @Test
+  public void findsWaypointsPathsAndAutons(@TempDir Path temp) throws IOException {
+    Path paths = Files.createDirectories(temp.resolve("Paths"));
+    Path autos = Files.createDirectories(temp.resolve("Autos"));
+    Files.write(paths.resolve("Shoot.path"), List.of(HEADER, "1,-1,1,0,false,false,Start",
+        "3,-2,1,0,false,false,ShootSpot"), StandardCharsets.UTF_8);
+    Files.write(autos.resolve("Left"), List.of("Shoot.path"), StandardCharsets.UTF_8);
+    ProjectIndex index = new ProjectIndex(temp.toString());
+    index.indexAll();
+
+    List<ProjectIndex.Match> matches = index.search("shoot", 10);
+    assertEquals(2, matches.size(), "The path and the waypoint should match");
+    assertEquals(ProjectIndex.Kind.PATH, matches.get(0).getKind(), "Paths should come before waypoints");
+    ProjectIndex.Match waypoint = matches.get(1);
+    assertEquals("ShootSpot", waypoint.getName(), "Waypoint should keep the case of its name");
+    assertEquals(1, waypoint.getWaypointIndex(), "Wrong waypoint index");
+    assertEquals(List.of("Left"), waypoint.getAutons(), "Waypoint should list the autons using its path");
+  }
+
+  @Test
+  public void changedFilesAreReindexed(@TempDir Path temp) throws IOException {
+    Path paths = Files.createDirectories(temp.resolve("Paths"));
+    Files.write(paths.resolve("A.path"), List.of(HEADER, "1,-1,1,0,false,false,Old"), StandardCharsets.UTF_8);
+    ProjectIndex index = new ProjectIndex(temp.toString());
+    index.indexAll();
+
+    Files.write(paths.resolve("A.path"), List.of(HEADER, "1,-1,1,0,false,false,Renamed",
+        "2,-1,1,0,false,false,"), StandardCharsets.UTF_8);
+    index.indexPath("A.path");
+    assertTrue(index.search("old", 10).isEmpty(), "Old waypoint name should be gone");
+    assertEquals(1, index.search("renamed", 10).size(), "New waypoint name should be found");
+
+    Files.delete(paths.resolve("A.path"));
+    index.indexPath("A.path");
+    assertTrue(index.search("a", 10).isEmpty(), "Deleted path should be gone");
+  }
+}
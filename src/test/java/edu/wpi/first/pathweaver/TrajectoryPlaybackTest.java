@@ -0,0 +1,21 @@
+package edu.wpi.first.pathweaver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryPlaybackTest {
+  @Test
+  public void interpolatesBetweenSamples() {
+    TrajectoryPlayback.Samples samples = new TrajectoryPlayback.Samples(
+        new double[] {0, 1, 3}, new double[] {0, -1, -1}, new double[] {350, 370, 380}, 0.02);
+
+    samples.interpolate(0.015);
+    assertEquals(2, samples.x, 1e-9, "Wrong x");
+    assertEquals(-1, samples.y, 1e-9, "Wrong y");
+    assertEquals(375, samples.rotation, 1e-9, "Wrong rotation");
+
+    samples.interpolate(1);
+    assertEquals(3, samples.x, 1e-9, "Playback past the end should hold the last pose");
+  }
+}
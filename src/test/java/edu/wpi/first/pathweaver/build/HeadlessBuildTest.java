@@ -0,0 +1,82 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.SaveManager;
+import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeadlessBuildTest {
+  @Test
+  public void buildsProjectIntoOutputDirectory(@TempDir Path temp) throws IOException {
+    Path project = Files.createDirectories(temp.resolve("project").resolve("Paths"));
+    ProjectPreferences.getInstance(project.getParent().toString()).saveValues();
+    SaveManager.getInstance().saveChange(new WpilibPath("one.path"));
+    Path output = temp.resolve("output");
+
+    assertEquals(0, HeadlessBuild.run(new String[] {project.getParent().toString(), output.toString()}),
+        "Build should succeed");
+    assertTrue(Files.exists(output.resolve("one.wpilib.json")), "Trajectory was not written");
+  }
+
+  @Test
+  public void legacyPreferencesAreLoggedInsteadOfShown(@TempDir Path temp) throws IOException {
+    Path project = Files.createDirectories(temp.resolve("legacy").resolve("Paths")).getParent();
+    // Written by a PathWeaver release from before the export unit setting
+    Files.writeString(project.resolve(ProjectPreferences.FILE_NAME), "{\"lengthUnit\": \"FOOT\", "
+        + "\"maxVelocity\": 10.0, \"maxAcceleration\": 60.0, \"wheelBase\": 2.0, "
+        + "\"gameName\": \"Infinite Recharge\", \"outputDir\": \"\"}");
+    Files.writeString(project.resolve("Paths").resolve("legacy.path"),
+        "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+            + "1.0,-5.0,3.0,0.0,true,false,\n"
+            + "6.0,-5.0,3.0,0.0,true,false,\n");
+    Path output = temp.resolve("output");
+
+    List<LogRecord> warnings = new ArrayList<>();
+    Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        warnings.add(record);
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    Logger logger = Logger.getLogger(ProjectPreferences.class.getName());
+    logger.addHandler(handler);
+    try {
+      assertEquals(0, HeadlessBuild.run(new String[] {project.toString(), output.toString()}),
+          "Build should succeed");
+    } finally {
+      logger.removeHandler(handler);
+    }
+    assertTrue(Files.exists(output.resolve("legacy.wpilib.json")), "Trajectory was not written");
+    assertTrue(warnings.stream().anyMatch(record -> record.getLevel() == Level.WARNING
+        && record.getMessage().startsWith("Export Units Warning")), "Missing export unit should be logged");
+  }
+
+  @Test
+  public void missingProjectIsRejected(@TempDir Path temp) {
+    assertEquals(2, HeadlessBuild.run(new String[] {temp.resolve("missing").toString()}),
+        "A directory without a project should be rejected");
+    assertEquals(2, HeadlessBuild.run(new String[0]), "A project directory is required");
+  }
+}
@@ -0,0 +1,33 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.SaveManager;
+import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParameterSweepTest {
+  @Test
+  public void sweepTimesEverySetting(@TempDir Path temp) throws IOException {
+    Files.createDirectories(temp.resolve("Paths"));
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    SaveManager.getInstance().saveChange(new WpilibPath("sweep.path"));
+
+    ParameterSweep.Result result = new ParameterSweep(temp)
+        .run(List.of("sweep.path"), new double[] {1, 2}, new double[] {1, 2, 3});
+
+    assertEquals(List.of("sweep"), result.getPathNames(), "Wrong path names");
+    assertTrue(result.getTotalTime(0, 1, 0) > 0, "Path was not timed");
+    assertTrue(result.getTotalTime(0, 1, 2) <= result.getTotalTime(0, 0, 2),
+        "A higher velocity should not be slower");
+    assertEquals(7, result.toCsv().split("\n").length, "Table should have a header and one row per setting");
+  }
+}
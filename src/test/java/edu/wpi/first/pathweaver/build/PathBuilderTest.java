@@ -0,0 +1,128 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathBuilderTest {
+  private Path projectDirectory;
+  private Path outputDirectory;
+
+  @BeforeEach
+  public void initialize(@TempDir Path temp) throws IOException {
+    projectDirectory = temp.resolve("project");
+    outputDirectory = temp.resolve("output");
+    Files.createDirectories(projectDirectory.resolve("Paths"));
+    ProjectPreferences.getInstance(projectDirectory.toAbsolutePath().toString());
+    // "two" continues from the end of "one"; "three" is elsewhere on the field
+    writePath("one.path", 1, -5, 6, -5);
+    writePath("two.path", 6, -5, 11, -5);
+    writePath("three.path", 1, -10, 6, -10);
+  }
+
+  private void writePath(String fileName, double startX, double startY, double endX, double endY)
+      throws IOException {
+    Files.write(projectDirectory.resolve("Paths").resolve(fileName), List.of(
+        "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name",
+        startX + "," + startY + ",3.0,0.0,true,false,",
+        endX + "," + endY + ",3.0,0.0,true,false,"));
+  }
+
+  @Test
+  public void buildWritesTrajectoriesAndReport() throws IOException {
+    BuildReport report = new PathBuilder(projectDirectory, outputDirectory).build(List.of("one.path", "two.path"));
+
+    assertEquals(2, report.getRebuiltCount(), "Both paths should be built");
+    assertTrue(report.getFailedPaths().isEmpty(), "No path should fail");
+    assertTrue(Files.exists(outputDirectory.resolve("one.wpilib.json")), "Trajectory was not written");
+    assertTrue(Files.exists(projectDirectory.resolve(PathBuilder.REPORT_DIRECTORY).resolve(PathBuilder.REPORT_FILE)),
+        "Report was not written");
+    assertFalse(Files.exists(outputDirectory.resolve(PathBuilder.REPORT_FILE)), "Report should not be deployed");
+    BuildReport.PathEntry entry = report.getPath("one");
+    assertTrue(entry.getStateCount() > 0, "Report has no trajectory states");
+    assertEquals(Files.size(outputDirectory.resolve("one.wpilib.json")), entry.getFileSizeBytes(), "Wrong file size");
+  }
+
+  @Test
+  public void upToDatePathsAreSkipped() throws IOException {
+    PathBuilder builder = new PathBuilder(projectDirectory, outputDirectory);
+    BuildReport first = builder.build(List.of("one.path", "two.path"));
+    BuildReport second = builder.build(List.of("one.path", "two.path"));
+
+    assertEquals(0, second.getRebuiltCount(), "Unchanged paths should be skipped");
+    assertFalse(second.getPath("two").isRebuilt(), "Unchanged path should be skipped");
+    assertEquals(first.getPath("two").getStateCount(), second.getPath("two").getStateCount(),
+        "Skipped path should keep its previous results");
+  }
+
+  @Test
+  public void autonConcatenatesPathTrajectories() throws IOException {
+    Files.createDirectories(projectDirectory.resolve("Autos"));
+    Files.write(projectDirectory.resolve("Autos").resolve("auto"), List.of("one.path", "two.path"));
+    BuildReport report = new PathBuilder(projectDirectory, outputDirectory)
+        .build(List.of("one.path", "two.path"), List.of("auto"));
+
+    BuildReport.AutonEntry auton = report.getAuton("auto");
+    assertTrue(auton.isSucceeded(), "Auton should be built");
+    assertTrue(Files.exists(outputDirectory.resolve("Autos").resolve("auto.wpilib.json")), "Auton was not written");
+    assertEquals(report.getPath("one").getStateCount() + report.getPath("two").getStateCount() - 1,
+        auton.getStateCount(), "Joined paths should share one state");
+    assertEquals(report.getPath("one").getTotalTimeSeconds() + report.getPath("two").getTotalTimeSeconds(),
+        auton.getTotalTimeSeconds(), 1e-9, "Auton time should be the sum of its paths");
+  }
+
+  @Test
+  public void autonOfDisjointPathsFails() throws IOException {
+    Files.createDirectories(projectDirectory.resolve("Autos"));
+    Files.write(projectDirectory.resolve("Autos").resolve("auto"), List.of("one.path", "three.path"));
+    BuildReport report = new PathBuilder(projectDirectory, outputDirectory)
+        .build(List.of("one.path", "three.path"), List.of("auto"));
+
+    assertFalse(report.getAuton("auto").isSucceeded(), "Paths that do not meet should not be joined");
+    assertTrue(report.getFailedAutons().contains("auto"), "Auton should be reported as failed");
+    assertFalse(Files.exists(outputDirectory.resolve("Autos").resolve("auto.wpilib.json")),
+        "Auton should not be written");
+  }
+
+  @Test
+  public void mirrorWritesEveryTrajectoryTwice() throws IOException {
+    Files.createDirectories(projectDirectory.resolve("Autos"));
+    Files.write(projectDirectory.resolve("Autos").resolve("auto"), List.of("one.path", "two.path"));
+    TrajectoryMirror mirror = new TrajectoryMirror(TrajectoryMirror.Symmetry.ROTATE, 16, 8);
+    BuildReport report = new PathBuilder(projectDirectory, outputDirectory, mirror)
+        .build(List.of("one.path", "two.path"), List.of("auto"));
+
+    Path mirrored = outputDirectory.resolve(PathBuilder.MIRROR_OUTPUT_DIRECTORY);
+    assertEquals("rotate", report.getAllianceMirror(), "Report should name the mirror");
+    assertTrue(Files.exists(mirrored.resolve("one.wpilib.json")), "Mirrored path was not written");
+    assertTrue(Files.exists(mirrored.resolve("Autos").resolve("auto.wpilib.json")), "Mirrored auton was not written");
+
+    List<Trajectory.State> states = TrajectoryUtil.fromPathweaverJson(outputDirectory.resolve("two.wpilib.json"))
+        .getStates();
+    List<Trajectory.State> mirroredStates = TrajectoryUtil.fromPathweaverJson(mirrored.resolve("two.wpilib.json"))
+        .getStates();
+    assertEquals(states.size(), mirroredStates.size(), "Mirrored path should have the same states");
+    for (int i = 0; i < states.size(); i++) {
+      assertEquals(states.get(i).timeSeconds, mirroredStates.get(i).timeSeconds, 1e-9, "Wrong time of state " + i);
+    }
+    Pose2d pose = states.get(states.size() / 2).poseMeters;
+    Pose2d mirroredPose = mirroredStates.get(states.size() / 2).poseMeters;
+    assertEquals(16 - pose.getX(), mirroredPose.getX(), 1e-9, "x should be rotated about the field center");
+    assertEquals(8 - pose.getY(), mirroredPose.getY(), 1e-9, "y should be rotated about the field center");
+    assertEquals(pose.getRotation().getRadians() + Math.PI, mirroredPose.getRotation().getRadians(), 1e-9,
+        "Heading should be turned around");
+  }
+}
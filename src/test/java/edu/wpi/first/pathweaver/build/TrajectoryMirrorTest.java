@@ -0,0 +1,37 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryMirrorTest {
+  private static final Trajectory TRAJECTORY = new Trajectory(List.of(
+      new Trajectory.State(0, 0, 1, new Pose2d(1, 2, Rotation2d.fromDegrees(30)), 0.5),
+      new Trajectory.State(1, 1, 0, new Pose2d(2, 3, Rotation2d.fromDegrees(60)), 0.25)));
+
+  @Test
+  public void reflectKeepsSideAndNegatesCurvature() {
+    Trajectory.State state = new TrajectoryMirror(TrajectoryMirror.Symmetry.REFLECT, 16, 8).mirror(TRAJECTORY)
+        .getStates().get(1);
+    assertEquals(14, state.poseMeters.getX(), 1e-9, "Reflection should move the pose across the center line");
+    assertEquals(3, state.poseMeters.getY(), 1e-9, "Reflection should keep the distance from the side wall");
+    assertEquals(120, state.poseMeters.getRotation().getDegrees(), 1e-9, "Reflection should mirror the heading");
+    assertEquals(-0.25, state.curvatureRadPerMeter, 1e-9, "Reflection should turn the other way");
+    assertEquals(1, state.timeSeconds, 1e-9, "Mirroring should keep the timing");
+  }
+
+  @Test
+  public void rotateTurnsAboutFieldCenter() {
+    Trajectory.State state = new TrajectoryMirror(TrajectoryMirror.Symmetry.ROTATE, 16, 8).mirror(TRAJECTORY)
+        .getStates().get(0);
+    assertEquals(15, state.poseMeters.getX(), 1e-9, "Rotation should move the pose to the other end");
+    assertEquals(6, state.poseMeters.getY(), 1e-9, "Rotation should move the pose to the other side wall");
+    assertEquals(210, state.poseMeters.getRotation().getDegrees(), 1e-9, "Rotation should turn the heading around");
+    assertEquals(0.5, state.curvatureRadPerMeter, 1e-9, "Rotation should keep the turn direction");
+  }
+}
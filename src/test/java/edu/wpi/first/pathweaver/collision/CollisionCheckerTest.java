@@ -0,0 +1,32 @@
+package edu.wpi.first.pathweaver.collision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CollisionCheckerTest {
+  private static final Obstacle SQUARE = new Obstacle(new double[] {4, 6, 6, 4}, new double[] {4, 4, 6, 6});
+  private static final Obstacle FAR = new Obstacle(new double[] {20, 21, 21}, new double[] {20, 20, 21});
+
+  @Test
+  public void lineThroughObstacleCollides() {
+    CollisionChecker checker = new CollisionChecker(List.of(SQUARE, FAR), 1);
+    assertTrue(checker.collides(new Double[] {0.0, 5.0, 10.0, 5.0}), "Line crosses the obstacle");
+  }
+
+  @Test
+  public void robotWidthIsSwept() {
+    CollisionChecker checker = new CollisionChecker(List.of(SQUARE, FAR), 1);
+    assertTrue(checker.collides(new Double[] {0.0, 3.6, 10.0, 3.6}), "Robot edge clips the obstacle");
+    assertFalse(checker.collides(new Double[] {0.0, 3.4, 10.0, 3.4}), "Robot passes beside the obstacle");
+  }
+
+  @Test
+  public void lineInsideObstacleCollides() {
+    CollisionChecker checker = new CollisionChecker(List.of(SQUARE), 0.1);
+    assertTrue(checker.collides(new Double[] {4.9, 5.0, 5.1, 5.0}), "Line is inside the obstacle");
+  }
+}
@@ -45,4 +45,18 @@ public class GameLoaderTest {
 						"Wrong length"));
 	}
 
+	@Test
+	public void testObstacles() {
+		ExtensionLoader loader = new ExtensionLoader();
+		String json = "{" + "\"" + ExtensionLoader.GAME_NAME_KEY + "\": \"TestGame3\"," + "\""
+				+ ExtensionLoader.FIELD_IMAGE_KEY + "\": \"img.png\"," + "\"" + ExtensionLoader.FIELD_CORNERS_KEY
+				+ "\": {" + "\"" + ExtensionLoader.TOP_LEFT_KEY + "\": [0, 0]," + "\""
+				+ ExtensionLoader.BOTTOM_RIGHT_KEY + "\": [4, 2]" + "}," + "\"" + ExtensionLoader.FIELD_SIZE_KEY
+				+ "\": [16, 8]," + "\"" + ExtensionLoader.FIELD_UNITS_KEY + "\": \"feet\"," + "\""
+				+ ExtensionLoader.OBSTACLES_KEY + "\": [[[1, 1], [2, 1], [2, 2]]]" + "}";
+		Game extension = loader.loadFromJsonString(name -> null, json);
+		assertAll("Loading obstacles", () -> assertEquals(1, extension.getField().getObstacles().size(), "Wrong count"),
+				() -> assertEquals(3, extension.getField().getObstacles().get(0).getCornerCount(), "Wrong corners"),
+				() -> assertEquals(2, extension.getField().getObstacles().get(0).getMaxY(), "Wrong coordinates"));
+	}
 }
@@ -0,0 +1,42 @@
+package edu.wpi.first.pathweaver.path;
+
+import edu.wpi.first.pathweaver.Waypoint;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.transform.Transform;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathTransformsTest {
+  private static final Bounds FIELD = new BoundingBox(0, -8, 16, 8);
+
+  @Test
+  public void allianceTransformsSwapSides() {
+    Point2D mirrored = PathTransforms.mirrorAlliance(FIELD).transform(1, -2);
+    assertEquals(15, mirrored.getX(), 1e-9, "Mirroring should move the point to the other end of the field");
+    assertEquals(-2, mirrored.getY(), 1e-9, "Mirroring should keep the distance from the side wall");
+
+    Point2D rotated = PathTransforms.rotateAlliance(FIELD).transform(1, -2);
+    assertEquals(15, rotated.getX(), 1e-9, "Rotating should move the point to the other end of the field");
+    assertEquals(-6, rotated.getY(), 1e-9, "Rotating should move the point to the other side wall");
+  }
+
+  @Test
+  public void fitsChecksEveryWaypoint() {
+    List<Waypoint> waypoints = List.of(
+        new Waypoint(new Point2D(1, -1), new Point2D(1, 0), false, false),
+        new Waypoint(new Point2D(3, -2), new Point2D(1, 0), false, false));
+    Transform flip = PathTransforms.flip(waypoints.get(0), true);
+
+    assertFalse(PathTransforms.fits(waypoints, flip, FIELD), "Flipping should move the last waypoint off the field");
+    assertTrue(PathTransforms.fits(waypoints, PathTransforms.mirrorAlliance(FIELD), FIELD),
+        "Mirroring should keep the waypoints on the field");
+    assertFalse(PathTransforms.fits(List.of(), flip, FIELD), "No waypoints should not fit");
+  }
+}
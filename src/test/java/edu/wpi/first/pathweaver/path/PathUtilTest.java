@@ -0,0 +1,33 @@
+package edu.wpi.first.pathweaver.path;
+
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PathUtilTest {
+  @Test
+  public void symmetricWaypointHasLevelTangent() {
+    Point2D tangent = PathUtil.rawThetaOptimization(new Point2D(0, 0), new Point2D(1, 1), new Point2D(2, 0));
+    assertEquals(2.0 / 3, tangent.getX(), 1e-9, "Tangent should be a third of the way between neighbours");
+    assertEquals(0, tangent.getY(), 1e-9, "Tangent of a symmetric waypoint should be level");
+  }
+
+  @Test
+  public void batchMatchesSingleWaypoints() {
+    double[] xs = {0, 3, 4, 6, 9};
+    double[] ys = {0, -1, 2, -2, 0};
+    double[] tangents = new double[xs.length * 2];
+    PathUtil.rawThetaOptimization(xs, ys, xs.length, tangents);
+
+    assertEquals(1.3333333333333335, tangents[2], 1e-9, "Unexpected x length of the first interior tangent");
+    assertEquals(0.6666666666666661, tangents[3], 1e-9, "Unexpected y length of the first interior tangent");
+    for (int i = 1; i < xs.length - 1; i++) {
+      Point2D tangent = PathUtil.rawThetaOptimization(new Point2D(xs[i - 1], ys[i - 1]), new Point2D(xs[i], ys[i]),
+          new Point2D(xs[i + 1], ys[i + 1]));
+      assertEquals(tangent.getX(), tangents[i * 2], 1e-12, "x length of waypoint " + i);
+      assertEquals(tangent.getY(), tangents[i * 2 + 1], 1e-12, "y length of waypoint " + i);
+    }
+    assertEquals(0, tangents[0], "The first waypoint should be left untouched");
+  }
+}
@@ -0,0 +1,77 @@
+package edu.wpi.first.pathweaver.spline.wpilib;
+
+import edu.wpi.first.pathweaver.ProjectPreferences;
+import edu.wpi.first.pathweaver.Waypoint;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParameterizedSplineTest {
+  @Test
+  public void segmentsEndAtWaypointsAndInvalidateOnEdit(@TempDir Path temp) {
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    Waypoint start = new Waypoint(new Point2D(1, -1), new Point2D(2, 0), false, false);
+    Waypoint middle = new Waypoint(new Point2D(3, -2), new Point2D(2, -1), false, false);
+    Waypoint end = new Waypoint(new Point2D(5, -2), new Point2D(2, 0), false, false);
+    List<Waypoint> waypoints = List.of(start, middle, end);
+    ParameterizedSpline spline = ParameterizedSpline.of(waypoints);
+
+    assertEquals(2, spline.getSegmentCount(), "One segment per pair of waypoints");
+    Double[] second = spline.getSegmentPolyline(1);
+    assertEquals(3, second[0], 1e-9, "Segment should start at its first waypoint");
+    assertEquals(2, second[1], 1e-9, "Segment should be in JavaFX coordinates");
+    assertEquals(5, second[second.length - 2], 1e-9, "Segment should end at its last waypoint");
+    assertTrue(spline.matches(waypoints), "Unchanged waypoints should match");
+
+    middle.setX(4);
+    assertFalse(spline.matches(waypoints), "Moved waypoints should not match");
+  }
+
+  @Test
+  public void straightSegmentsHaveNoCurvature(@TempDir Path temp) {
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    Waypoint start = new Waypoint(new Point2D(1, -1), new Point2D(2, 0), false, false);
+    Waypoint middle = new Waypoint(new Point2D(3, -1), new Point2D(2, 0), false, false);
+    Waypoint end = new Waypoint(new Point2D(5, -3), new Point2D(0, -2), false, false);
+    ParameterizedSpline spline = ParameterizedSpline.of(List.of(start, middle, end));
+
+    assertEquals(0, spline.getSegmentMaxCurvature(0), 1e-9, "A straight segment should not curve");
+    assertTrue(spline.getSegmentMaxCurvature(1) > 0.5, "A quarter turn of radius 2 should curve");
+  }
+
+  @Test
+  public void exportUnitChangeInvalidates(@TempDir Path temp) {
+    ProjectPreferences preferences = ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    Waypoint start = new Waypoint(new Point2D(1, -1), new Point2D(2, 0), false, false);
+    Waypoint end = new Waypoint(new Point2D(3, -1), new Point2D(2, 0), false, false);
+    List<Waypoint> waypoints = List.of(start, end);
+    ParameterizedSpline spline = ParameterizedSpline.of(waypoints);
+    assertTrue(spline.matches(waypoints), "Unchanged waypoints should match");
+
+    preferences.setValues(new ProjectPreferences.Values("FOOT", "Same as Project", 10.0, 60.0, 2.0,
+        preferences.getValues().getGameName(), null));
+    assertFalse(spline.matches(waypoints), "Samples in meters should not match a project exporting feet");
+  }
+
+  @Test
+  public void sharedSplinesAreReusedByLoadedPaths(@TempDir Path temp) {
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    Waypoint start = new Waypoint(new Point2D(1, -1), new Point2D(2, 0), false, false);
+    Waypoint end = new Waypoint(new Point2D(3, -2), new Point2D(2, -1), false, false);
+    ParameterizedSpline edited = ParameterizedSpline.of(List.of(start, end), ParameterizedSpline.of(List.of(start)));
+    edited.share();
+
+    Waypoint loadedStart = new Waypoint(new Point2D(1, -1), new Point2D(2, 0), false, false);
+    Waypoint loadedEnd = new Waypoint(new Point2D(3, -2), new Point2D(2, -1), false, false);
+    assertSame(edited, ParameterizedSpline.of(List.of(loadedStart, loadedEnd)),
+        "A path loaded with the saved waypoints should reuse the shared samples");
+  }
+}
@@ -0,0 +1,60 @@
+package edu.wpi.first.pathweaver.spline.wpilib;
+
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.spline.QuinticHermiteSpline;
+import edu.wpi.first.wpilibj.spline.SplineParameterizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QuinticEvaluatorTest {
+  @Test
+  public void matchesWpilibSpline() {
+    double[] xInitial = {1, 3, 0.5};
+    double[] xFinal = {4, 1, -1};
+    double[] yInitial = {-2, 0, 0};
+    double[] yFinal = {1, 2, 0};
+    QuinticHermiteSpline spline = new QuinticHermiteSpline(xInitial, xFinal, yInitial, yFinal);
+    QuinticEvaluator evaluator = new QuinticEvaluator().setControlVectors(xInitial, xFinal, yInitial, yFinal);
+
+    double[] t = {0, 0.1, 0.25, 0.5, 0.8, 1};
+    double[] xs = new double[t.length];
+    double[] ys = new double[t.length];
+    double[] headings = new double[t.length];
+    double[] curvatures = new double[t.length];
+    evaluator.positions(t, t.length, xs, ys);
+    evaluator.headings(t, t.length, headings);
+    evaluator.curvatures(t, t.length, curvatures);
+
+    for (int i = 0; i < t.length; i++) {
+      PoseWithCurvature point = spline.getPoint(t[i]);
+      assertEquals(point.poseMeters.getX(), xs[i], 1e-9, "x at " + t[i]);
+      assertEquals(point.poseMeters.getY(), ys[i], 1e-9, "y at " + t[i]);
+      assertEquals(point.poseMeters.getRotation().getRadians(), headings[i], 1e-9, "Heading at " + t[i]);
+      assertEquals(point.curvatureRadPerMeter, curvatures[i], 1e-9, "Curvature at " + t[i]);
+    }
+  }
+
+  @Test
+  public void subdivisionMatchesSplineParameterizer() {
+    double[] xInitial = {0, 8, 0};
+    double[] xFinal = {5, 0, 0};
+    double[] yInitial = {0, 0, 0};
+    double[] yFinal = {4, 8, 0};
+    List<PoseWithCurvature> expected = SplineParameterizer.parameterize(
+        new QuinticHermiteSpline(xInitial, xFinal, yInitial, yFinal));
+    QuinticEvaluator evaluator = new QuinticEvaluator().setControlVectors(xInitial, xFinal, yInitial, yFinal);
+
+    int count = evaluator.subdivide();
+    assertEquals(expected.size(), count, "Wrong number of samples");
+    double[] xs = new double[count];
+    double[] ys = new double[count];
+    evaluator.positions(evaluator.getParameters(), count, xs, ys);
+    for (int i = 0; i < count; i++) {
+      assertEquals(expected.get(i).poseMeters.getX(), xs[i], 1e-9, "x of sample " + i);
+      assertEquals(expected.get(i).poseMeters.getY(), ys[i], 1e-9, "y of sample " + i);
+    }
+  }
+}